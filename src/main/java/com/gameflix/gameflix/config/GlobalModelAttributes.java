@@ -21,7 +21,9 @@ public class GlobalModelAttributes {
         if (normalized == null) {
             normalized = PlanTier.FREE;
         }
-        session.setAttribute("planTier", normalized);
+        if (!normalized.equals(p)) {
+            session.setAttribute("planTier", normalized);
+        }
         return normalized;
     }
 }
@@ -0,0 +1,99 @@
+package com.gameflix.gameflix.config;
+
+import com.gameflix.gameflix.session.CompactSessionSerializer;
+import com.gameflix.gameflix.session.DirtyTrackingSessionRepository;
+import com.gameflix.gameflix.session.SessionWriteMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.session.FlushMode;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP sessions go through a {@link DirtyTrackingSessionRepository} in front of
+ * the store picked by gameflix.session.store: "jdbc" (shared, any node can serve
+ * any request) or "memory" (single node).
+ */
+@Configuration
+@EnableSpringHttpSession
+public class SessionConfig {
+
+    @Configuration
+    @ConditionalOnProperty(name = "gameflix.session.store", havingValue = "memory")
+    static class InMemory {
+
+        @Bean
+        public MapSessionRepository mapSessionRepository(
+                @Value("${server.servlet.session.timeout:30m}") Duration timeout) {
+            MapSessionRepository store = new MapSessionRepository(new ConcurrentHashMap<>());
+            store.setDefaultMaxInactiveInterval(timeout);
+            return store;
+        }
+
+        @Bean
+        public SessionWriteMetrics memorySessionWriteMetrics(MeterRegistry meterRegistry) {
+            return new SessionWriteMetrics(meterRegistry, "memory");
+        }
+
+        @Bean
+        @Primary
+        public DirtyTrackingSessionRepository<MapSession> sessionRepository(
+                MapSessionRepository store,
+                SessionWriteMetrics memorySessionWriteMetrics,
+                @Value("${gameflix.session.touch-interval:60s}") Duration touchInterval) {
+            return new DirtyTrackingSessionRepository<>(store, touchInterval, memorySessionWriteMetrics);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "gameflix.session.store", havingValue = "jdbc", matchIfMissing = true)
+    static class Jdbc {
+
+        // ON_SET_ATTRIBUTE + ON_SAVE: one statement per changed attribute at the end of the request.
+        @Bean
+        public JdbcIndexedSessionRepository jdbcSessionRepository(
+                JdbcTemplate jdbcTemplate,
+                PlatformTransactionManager transactionManager,
+                SessionWriteMetrics jdbcSessionWriteMetrics,
+                @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+                @Value("${gameflix.session.cleanup-cron:0 * * * * *}") String cleanupCron) {
+            JdbcIndexedSessionRepository store =
+                    new JdbcIndexedSessionRepository(jdbcTemplate, new TransactionTemplate(transactionManager));
+            CompactSessionSerializer serializer =
+                    new CompactSessionSerializer(SessionConfig.class.getClassLoader(), jdbcSessionWriteMetrics);
+            store.setConversionService(serializer.conversionService());
+            store.setDefaultMaxInactiveInterval(timeout);
+            store.setSaveMode(SaveMode.ON_SET_ATTRIBUTE);
+            store.setFlushMode(FlushMode.ON_SAVE);
+            store.setCleanupCron(cleanupCron);
+            return store;
+        }
+
+        @Bean
+        public SessionWriteMetrics jdbcSessionWriteMetrics(MeterRegistry meterRegistry) {
+            return new SessionWriteMetrics(meterRegistry, "jdbc");
+        }
+
+        @Bean
+        @Primary
+        public DirtyTrackingSessionRepository<?> sessionRepository(
+                JdbcIndexedSessionRepository store,
+                SessionWriteMetrics jdbcSessionWriteMetrics,
+                @Value("${gameflix.session.touch-interval:60s}") Duration touchInterval) {
+            return new DirtyTrackingSessionRepository<>(store, touchInterval, jdbcSessionWriteMetrics);
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package com.gameflix.gameflix.controller;
 
+import com.gameflix.gameflix.model.CursorPage;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.LibraryItem;
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.service.CatalogFacetService;
 import com.gameflix.gameflix.service.LibraryService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 public class AccountController {
 
     private final LibraryService libraryService;
+    private final CatalogFacetService catalogFacetService;
 
-    public AccountController(LibraryService libraryService) {
+    public AccountController(LibraryService libraryService, CatalogFacetService catalogFacetService) {
         this.libraryService = libraryService;
+        this.catalogFacetService = catalogFacetService;
     }
 
     @GetMapping("/account")
-    public String account(HttpSession session, Model model) {
+    public String account(@RequestParam(value = "genre", required = false) String genre,
+                          @RequestParam(value = "tier", required = false) String tier,
+                          @RequestParam(value = "sort", required = false) String sort,
+                          @RequestParam(value = "cursor", required = false) String cursor,
+                          HttpSession session,
+                          Model model) {
         Object user = session.getAttribute("username");
         if (user == null) {
             return "redirect:/auth";
         }
         String username = user.toString();
-        model.addAttribute("library", libraryService.listForUser(username));
+        GameSort order = GameSort.parse(sort, GameSort.NEWEST) == GameSort.TITLE ? GameSort.TITLE : GameSort.NEWEST;
+        CursorPage<LibraryItem> library;
+        try {
+            library = libraryService.page(username, genre, tier, order, cursor, LibraryService.DEFAULT_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            library = libraryService.page(username, genre, tier, order, null, LibraryService.DEFAULT_PAGE_SIZE);
+        }
+        model.addAttribute("library", library.items());
+        model.addAttribute("libraryNextCursor", library.nextCursor());
+        model.addAttribute("genres", catalogFacetService.genres());
+        model.addAttribute("tiers", PlanTier.descriptors());
+        model.addAttribute("selectedGenre", genre);
+        model.addAttribute("selectedTier", PlanTier.normalize(tier));
+        model.addAttribute("selectedSort", order.key());
         return "account";
     }
 }
@@ -3,6 +3,9 @@ package com.gameflix.gameflix.controller;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.gameflix.gameflix.login.LoginRequest;
 import com.gameflix.gameflix.login.RegisterRequest;
+import com.gameflix.gameflix.service.PasswordHashingBusyException;
 import com.gameflix.gameflix.service.UserService;
 
 @RestController
@@ -48,31 +52,47 @@ public class AuthController {
 
 
     @PostMapping("/register")
-    public Map<String, String> register(@RequestBody RegisterRequest req) {
+    public ResponseEntity<Map<String, String>> register(@RequestBody RegisterRequest req) {
         Map<String, String> res = new HashMap<>();
 
         if (req.getUsername() == null || req.getPassword() == null) {
             res.put("message", "Username and password are required");
-            return res;
+            return ResponseEntity.ok(res);
         }
 
         if (userService.usernameExists(req.getUsername())) {
             res.put("message", "Username already exists");
-            return res;
+            return ResponseEntity.ok(res);
         }
 
-        userService.register(req.getUsername(), req.getPassword());
+        try {
+            userService.register(req.getUsername(), req.getPassword());
+        } catch (PasswordHashingBusyException e) {
+            return busy(res);
+        }
 
         res.put("message", "User registered successfully");
-        return res;
+        return ResponseEntity.ok(res);
     }
 
     @PostMapping("/login")
-    public Map<String, String> login(@RequestBody LoginRequest req) {
+    public ResponseEntity<Map<String, String>> login(@RequestBody LoginRequest req) {
         Map<String, String> res = new HashMap<>();
-        boolean ok = userService.login(req.getUsername(), req.getPassword());
+        boolean ok;
+        try {
+            ok = userService.login(req.getUsername(), req.getPassword());
+        } catch (PasswordHashingBusyException e) {
+            return busy(res);
+        }
 
         res.put("message", ok ? "Login successful" : "Invalid username or password");
-        return res;
+        return ResponseEntity.ok(res);
+    }
+
+    private static ResponseEntity<Map<String, String>> busy(Map<String, String> res) {
+        res.put("message", "Too many sign-in requests, please retry shortly");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(res);
     }
 }
\ No newline at end of file
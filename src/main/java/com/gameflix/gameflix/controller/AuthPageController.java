@@ -2,6 +2,7 @@ package com.gameflix.gameflix.controller;
 
 import com.gameflix.gameflix.login.LoginRequest;
 import com.gameflix.gameflix.login.RegisterRequest;
+import com.gameflix.gameflix.service.PasswordHashingBusyException;
 import com.gameflix.gameflix.service.UserService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Controller;
@@ -14,6 +15,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class AuthPageController {
 
+    private static final String BUSY_MESSAGE = "Sign-in is busy right now. Please try again in a moment.";
+
     private final UserService userService;
 
     public AuthPageController(UserService userService) {
@@ -39,7 +42,14 @@ public class AuthPageController {
             redirectAttributes.addFlashAttribute("loginSuccess", "Already signed in as " + session.getAttribute("username"));
             return "redirect:/account";
         }
-        boolean ok = userService.login(req.getUsername(), req.getPassword());
+        boolean ok;
+        try {
+            ok = userService.login(req.getUsername(), req.getPassword());
+        } catch (PasswordHashingBusyException e) {
+            model.addAttribute("loginError", BUSY_MESSAGE);
+            model.addAttribute("registerRequest", new RegisterRequest());
+            return "auth";
+        }
         if (ok) {
             session.setAttribute("username", req.getUsername());
             redirectAttributes.addFlashAttribute("loginSuccess", "Login successful. Welcome, " + req.getUsername() + "!");
@@ -64,7 +74,13 @@ public class AuthPageController {
             model.addAttribute("loginRequest", new LoginRequest());
             return "auth";
         }
-        userService.register(req.getUsername(), req.getPassword());
+        try {
+            userService.register(req.getUsername(), req.getPassword());
+        } catch (PasswordHashingBusyException e) {
+            model.addAttribute("registerError", BUSY_MESSAGE);
+            model.addAttribute("loginRequest", new LoginRequest());
+            return "auth";
+        }
         redirectAttributes.addFlashAttribute("registerSuccess", "User registered successfully. You can now log in.");
         return "redirect:/auth";
     }
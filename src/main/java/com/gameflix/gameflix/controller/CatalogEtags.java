@@ -0,0 +1,31 @@
+package com.gameflix.gameflix.controller;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+final class CatalogEtags {
+
+    private CatalogEtags() {
+    }
+
+    static String catalog(Instant catalogVersion) {
+        return "W/\"catalog-" + micros(catalogVersion) + "\"";
+    }
+
+    /** ETag for a rendered page that also varies by request parameters and viewer. */
+    static String page(Instant catalogVersion, Map<String, String[]> params, Object... viewer) {
+        int paramsHash = params.entrySet().stream()
+                .map(e -> e.getKey() + "=" + Arrays.toString(e.getValue()))
+                .sorted()
+                .toList()
+                .hashCode();
+        int hash = 31 * paramsHash + Objects.hash(viewer);
+        return "W/\"catalog-" + micros(catalogVersion) + "-" + Integer.toHexString(hash) + "\"";
+    }
+
+    private static long micros(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+}
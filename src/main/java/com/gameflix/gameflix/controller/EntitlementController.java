@@ -0,0 +1,72 @@
+package com.gameflix.gameflix.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.service.EntitlementService;
+
+import jakarta.servlet.http.HttpSession;
+
+@RestController
+@RequestMapping("/entitlements")
+public class EntitlementController {
+
+    private final EntitlementService entitlementService;
+
+    public EntitlementController(EntitlementService entitlementService) {
+        this.entitlementService = entitlementService;
+    }
+
+    /** Checks a batch of games against the given plan, or the session's plan when none is given. */
+    @PostMapping("/check")
+    public ResponseEntity<?> check(@RequestBody CheckRequest req, HttpSession session) {
+        Map<String, String> res = new HashMap<>();
+        if (req.getGameIds() == null) {
+            res.put("message", "gameIds is required");
+            return ResponseEntity.badRequest().body(res);
+        }
+        String plan = req.getPlan();
+        if (plan != null && PlanTier.normalize(plan) == null) {
+            res.put("message", "Unknown plan: " + plan);
+            return ResponseEntity.badRequest().body(res);
+        }
+        if (plan == null) {
+            plan = (String) session.getAttribute("planTier");
+        }
+        try {
+            return ResponseEntity.ok(entitlementService.check(plan, req.getGameIds()));
+        } catch (IllegalArgumentException e) {
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        }
+    }
+
+    public static class CheckRequest {
+        private String plan;
+        private List<Long> gameIds;
+
+        public String getPlan() {
+            return plan;
+        }
+
+        public void setPlan(String plan) {
+            this.plan = plan;
+        }
+
+        public List<Long> getGameIds() {
+            return gameIds;
+        }
+
+        public void setGameIds(List<Long> gameIds) {
+            this.gameIds = gameIds;
+        }
+    }
+}
@@ -1,42 +1,202 @@
 package com.gameflix.gameflix.controller;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
 import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameRating;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.GameVersion;
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.recommend.Related;
+import com.gameflix.gameflix.recommend.SimilarityIndex;
+import com.gameflix.gameflix.search.TitleSuggestIndex;
 import com.gameflix.gameflix.service.GameService;
+import com.gameflix.gameflix.service.GameSuggestService;
+import com.gameflix.gameflix.service.LeaderboardService;
+import com.gameflix.gameflix.service.RatingAggregateService;
+import com.gameflix.gameflix.service.RelatedGamesService;
+import com.gameflix.gameflix.service.SimilarGamesService;
+import com.gameflix.gameflix.service.TrendingService;
 
 @RestController
 @RequestMapping("/games")
 public class GameController {
 
     private final GameService gameService;
+    private final RatingAggregateService ratingAggregateService;
+    private final GameSuggestService gameSuggestService;
+    private final RelatedGamesService relatedGamesService;
+    private final SimilarGamesService similarGamesService;
+    private final TrendingService trendingService;
+    private final LeaderboardService leaderboardService;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, RatingAggregateService ratingAggregateService,
+                          GameSuggestService gameSuggestService, RelatedGamesService relatedGamesService,
+                          SimilarGamesService similarGamesService, TrendingService trendingService,
+                          LeaderboardService leaderboardService) {
         this.gameService = gameService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.gameSuggestService = gameSuggestService;
+        this.relatedGamesService = relatedGamesService;
+        this.similarGamesService = similarGamesService;
+        this.trendingService = trendingService;
+        this.leaderboardService = leaderboardService;
     }
 
     @GetMapping
-    public List<Game> list() {
-        return gameService.findAll();
+    public ResponseEntity<?> list(@RequestParam(name = "sort", required = false) String sort,
+                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                  @RequestParam(name = "size", defaultValue = "24") int size,
+                                  WebRequest request) {
+        Instant catalogVersion = gameService.catalogVersion();
+        if (request.checkNotModified(CatalogEtags.catalog(catalogVersion), catalogVersion.toEpochMilli())) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(gameService.page(GameSort.parse(sort, GameSort.TITLE), cursor, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        }
+    }
+
+    // Served from memory on every keystroke; a short private max-age lets the browser reuse answers.
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam(name = "prefix", required = false) String prefix,
+                                     @RequestParam(name = "limit", defaultValue = "8") int limit) {
+        if (limit < 1 || limit > TitleSuggestIndex.MAX_SUGGESTIONS) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "limit must be between 1 and " + TitleSuggestIndex.MAX_SUGGESTIONS);
+            return ResponseEntity.badRequest().body(res);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate())
+                .body(gameSuggestService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> trending(@RequestParam(name = "genre", required = false) String genre,
+                                      @RequestParam(name = "tier", required = false) String tier,
+                                      @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        String planTier = PlanTier.normalize(tier);
+        if (tier != null && !tier.isBlank() && planTier == null) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "Unknown tier: " + tier);
+            return ResponseEntity.badRequest().body(res);
+        }
+        if (limit < 1 || limit > TrendingService.MAX_TRENDING) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "limit must be between 1 and " + TrendingService.MAX_TRENDING);
+            return ResponseEntity.badRequest().body(res);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+                .body(trendingService.trending(genre, planTier, limit));
+    }
+
+    @GetMapping("/top-rated")
+    public ResponseEntity<?> topRated(@RequestParam(name = "genre", required = false) String genre,
+                                      @RequestParam(name = "tier", required = false) String tier,
+                                      @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        String planTier = PlanTier.normalize(tier);
+        if (tier != null && !tier.isBlank() && planTier == null) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "Unknown tier: " + tier);
+            return ResponseEntity.badRequest().body(res);
+        }
+        if (limit < 1 || limit > LeaderboardService.MAX_TOP_RATED) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "limit must be between 1 and " + LeaderboardService.MAX_TOP_RATED);
+            return ResponseEntity.badRequest().body(res);
+        }
+        return ResponseEntity.ok(leaderboardService.topRated(genre, planTier, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> detail(@PathVariable Long id) {
+    public ResponseEntity<?> detail(@PathVariable Long id, WebRequest request) {
+        Optional<GameVersion> version = gameService.findVersion(id);
+        if (version.isPresent() && request.checkNotModified(version.get().etag(), version.get().lastModifiedMillis())) {
+            return null;
+        }
         Optional<Game> game = gameService.findById(id);
         if (game.isEmpty()) {
             Map<String, String> res = new HashMap<>();
             res.put("message", "Game not found");
             return ResponseEntity.status(404).body(res);
         }
-        return ResponseEntity.ok(game.get());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(new GameDetailResponse(game.get(), ratingAggregateService.find(id)));
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> related(@PathVariable Long id,
+                                     @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > RelatedGamesService.MAX_RELATED) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "limit must be between 1 and " + RelatedGamesService.MAX_RELATED);
+            return ResponseEntity.badRequest().body(res);
+        }
+        if (gameService.findVersion(id).isEmpty()) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "Game not found");
+            return ResponseEntity.status(404).body(res);
+        }
+        List<Related> related = relatedGamesService.related(id, limit);
+        List<GameSummary> games = gameService.findSummariesInOrder(related.stream().map(Related::gameId).toList());
+        // Summaries come back in the same order, minus any game deleted since it was counted.
+        Map<Long, Integer> counts = new HashMap<>();
+        related.forEach(r -> counts.put(r.gameId(), r.count()));
+        List<RelatedGameResponse> body = new ArrayList<>(games.size());
+        for (GameSummary g : games) {
+            body.add(new RelatedGameResponse(g, counts.get(g.id())));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+                .body(body);
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> similar(@PathVariable Long id,
+                                     @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > SimilarityIndex.NEIGHBORS) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "limit must be between 1 and " + SimilarityIndex.NEIGHBORS);
+            return ResponseEntity.badRequest().body(res);
+        }
+        if (gameService.findVersion(id).isEmpty()) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "Game not found");
+            return ResponseEntity.status(404).body(res);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+                .body(gameService.findSummariesInOrder(similarGamesService.similarIds(id, limit)));
+    }
+
+    public record RelatedGameResponse(@JsonUnwrapped GameSummary game, int libraries) {
+    }
+
+    public record GameDetailResponse(@JsonUnwrapped Game game, GameRating rating) {
     }
 }
@@ -0,0 +1,35 @@
+package com.gameflix.gameflix.controller;
+
+import com.gameflix.gameflix.importer.ImportFormat;
+import com.gameflix.gameflix.service.GameImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/games/import")
+public class GameImportController {
+
+    private final GameImportService gameImportService;
+
+    public GameImportController(GameImportService gameImportService) {
+        this.gameImportService = gameImportService;
+    }
+
+    // Reads the raw request stream so the file is never buffered whole.
+    @PostMapping(consumes = {ImportFormat.CSV_TYPE, ImportFormat.NDJSON_TYPE})
+    public ResponseEntity<?> importGames(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.of(MediaType.parseMediaType(request.getContentType()));
+        try {
+            return ResponseEntity.ok(gameImportService.importGames(request.getInputStream(), format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -1,14 +1,29 @@
 package com.gameflix.gameflix.controller;
 
 import com.gameflix.gameflix.model.Game;
-import com.gameflix.gameflix.model.Review;
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.GameSummary;
 import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.model.ReviewCursor;
+import com.gameflix.gameflix.search.FacetQuery;
+import com.gameflix.gameflix.search.FacetResult;
+import com.gameflix.gameflix.service.CatalogFacetService;
+import com.gameflix.gameflix.service.DuplicateReviewException;
+import com.gameflix.gameflix.service.EntitlementService;
+import com.gameflix.gameflix.service.GameDetail;
+import com.gameflix.gameflix.service.GameDetailLoader;
+import com.gameflix.gameflix.service.GameSearchService;
 import com.gameflix.gameflix.service.GameService;
-import com.gameflix.gameflix.service.LibraryService;
-import com.gameflix.gameflix.service.ReviewService;
+import com.gameflix.gameflix.service.ReviewBacklogFullException;
+import com.gameflix.gameflix.service.ReviewIntake;
+import com.gameflix.gameflix.service.ReviewLogUnavailableException;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,54 +31,88 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Controller
 public class GamePageController {
 
     private final GameService gameService;
-    private final ReviewService reviewService;
-    private final LibraryService libraryService;
+    private final ReviewIntake reviewIntake;
+    private final GameSearchService gameSearchService;
+    private final CatalogFacetService catalogFacetService;
+    private final GameDetailLoader gameDetailLoader;
+    private final EntitlementService entitlementService;
 
-    public GamePageController(GameService gameService, ReviewService reviewService, LibraryService libraryService) {
+    public GamePageController(GameService gameService, ReviewIntake reviewIntake,
+                              GameSearchService gameSearchService, CatalogFacetService catalogFacetService,
+                              GameDetailLoader gameDetailLoader, EntitlementService entitlementService) {
         this.gameService = gameService;
-        this.reviewService = reviewService;
-        this.libraryService = libraryService;
+        this.reviewIntake = reviewIntake;
+        this.gameSearchService = gameSearchService;
+        this.catalogFacetService = catalogFacetService;
+        this.gameDetailLoader = gameDetailLoader;
+        this.entitlementService = entitlementService;
     }
 
     @GetMapping("/catalog")
     public String catalog(@RequestParam(value = "q", required = false) String search,
+                          @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy,
                           @RequestParam(value = "genre", required = false) String genre,
+                          @RequestParam(value = "tier", required = false) String tier,
+                          @RequestParam(value = "rating", required = false) Integer minRating,
+                          @RequestParam(value = "sort", required = false) String sort,
+                          @RequestParam(value = "cursor", required = false) String cursor,
+                          @RequestParam(value = "size", defaultValue = "24") int size,
                           @RequestParam(value = "error", required = false) String error,
-                          Model model) {
-        List<Game> games = gameService.findAll();
+                          Model model,
+                          HttpSession session,
+                          WebRequest webRequest,
+                          HttpServletResponse response) {
+        // The page varies by catalog state, query and the viewer's name/plan shown in the header.
+        String etag = CatalogEtags.page(gameService.catalogVersion(), webRequest.getParameterMap(),
+                session.getAttribute("username"), session.getAttribute("planTier"));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<Long> candidates = null;
         if (search != null && !search.isBlank()) {
-            final String term = search.toLowerCase();
-            games = games.stream()
-                    .filter(g -> (g.getTitle() != null && g.getTitle().toLowerCase().contains(term)) ||
-                                 (g.getDescription() != null && g.getDescription().toLowerCase().contains(term)))
-                    .collect(Collectors.toList());
-        }
-        if (genre != null && !genre.isBlank()) {
-            games = games.stream()
-                    .filter(g -> genre.equalsIgnoreCase(g.getGenre()))
-                    .collect(Collectors.toList());
-        }
-        List<String> genres = gameService.findAll().stream()
-                .map(Game::getGenre)
-                .filter(g -> g != null && !g.isBlank())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+            candidates = fuzzy ? gameSearchService.fuzzySearch(search) : gameSearchService.search(search);
+        }
+        GameSort sortOrder = GameSort.parse(sort, candidates != null ? GameSort.RELEVANCE : GameSort.TITLE);
+        if (sortOrder == GameSort.RELEVANCE && candidates == null) {
+            sortOrder = GameSort.TITLE;
+        }
+        GameCursor after;
+        try {
+            after = GameCursor.decode(cursor, sortOrder);
+        } catch (IllegalArgumentException e) {
+            after = null;
+        }
+        int pageSize = GameService.clampPageSize(size);
+        FacetResult facets = catalogFacetService.query(new FacetQuery(genre, tier, minRating, candidates,
+                sortOrder, after, pageSize));
+        List<GameSummary> games = gameService.findSummariesInOrder(facets.gameIds());
+        int planMask = entitlementService.planMask((String) session.getAttribute("planTier"));
 
         model.addAttribute("games", games);
-        model.addAttribute("genres", genres);
+        model.addAttribute("lockedIds", entitlementService.lockedIds(planMask, facets.gameIds()));
+        model.addAttribute("totalGames", facets.total());
+        model.addAttribute("nextCursor", facets.next() != null ? facets.next().encode() : null);
+        model.addAttribute("genres", facets.genres());
+        model.addAttribute("tiers", facets.tiers());
+        model.addAttribute("ratingBands", facets.ratings());
         model.addAttribute("searchTerm", search);
+        model.addAttribute("fuzzy", fuzzy);
         model.addAttribute("selectedGenre", genre);
+        model.addAttribute("selectedTier", PlanTier.normalize(tier));
+        model.addAttribute("selectedRating", minRating);
+        model.addAttribute("selectedSort", sortOrder.key());
+        model.addAttribute("pageSize", pageSize);
         model.addAttribute("error", error);
         return "catalog";
     }
@@ -72,34 +121,46 @@ public class GamePageController {
     public String gameDetail(@PathVariable Long id,
                              @RequestParam(value = "error", required = false) String error,
                              @RequestParam(value = "success", required = false) String success,
+                             @RequestParam(value = "reviews", required = false) String reviewCursor,
                              Model model,
-                             HttpSession session) {
-        Optional<Game> game = gameService.findById(id);
-        if (game.isEmpty()) {
+                             HttpSession session,
+                             HttpServletResponse response) {
+        String username = (String) session.getAttribute("username");
+        try {
+            ReviewCursor.decode(reviewCursor);
+        } catch (IllegalArgumentException e) {
+            reviewCursor = null;
+        }
+        Optional<GameDetail> detail = gameDetailLoader.load(id, username, reviewCursor);
+        if (detail.isEmpty()) {
             return "redirect:/catalog?error=Game+not+found";
         }
-        List<Review> reviews = reviewService.listForGame(id);
+        GameDetail d = detail.get();
+        response.setHeader("Server-Timing", d.serverTiming());
 
-        String username = (String) session.getAttribute("username");
         String planTier = PlanTier.normalize((String) session.getAttribute("planTier"));
         if (planTier == null) {
             planTier = PlanTier.FREE;
         }
-        String requiredTier = PlanTier.normalize(game.get().getSubscriptionTier());
-        boolean canAccess = canAccess(requiredTier, planTier);
-        boolean inLibrary = username != null && libraryService.exists(username, id);
-        boolean alreadyReviewed = username != null && reviewService.existsForUser(id, username);
+        String requiredTier = PlanTier.normalize(d.game().getSubscriptionTier());
+        boolean canAccess = entitlementService.canAccess(entitlementService.planMask(planTier),
+                d.game().getSubscriptionTier());
 
-        model.addAttribute("game", game.get());
-        model.addAttribute("reviews", reviews);
+        model.addAttribute("game", d.game());
+        model.addAttribute("reviews", d.reviews().items());
+        model.addAttribute("nextReviews", d.reviews().nextCursor());
+        model.addAttribute("olderReviews", reviewCursor != null);
+        model.addAttribute("rating", d.rating());
         model.addAttribute("reviewForm", new ReviewForm(id));
         model.addAttribute("success", success);
         model.addAttribute("error", error);
         model.addAttribute("requiredTier", requiredTier);
         model.addAttribute("planTier", planTier);
         model.addAttribute("canAccess", canAccess);
-        model.addAttribute("inLibrary", inLibrary);
-        model.addAttribute("alreadyReviewed", alreadyReviewed);
+        model.addAttribute("inLibrary", d.inLibrary());
+        model.addAttribute("alreadyReviewed", d.alreadyReviewed());
+        model.addAttribute("relatedGames", d.relatedGames());
+        model.addAttribute("similarGames", d.similarGames());
         return "game";
     }
 
@@ -129,19 +190,26 @@ public class GamePageController {
             redirectAttributes.addAttribute("error", "Game not found");
             return "redirect:/catalog";
         }
-        if (reviewService.existsForUser(reviewForm.getGameId(), username)) {
+        if (reviewIntake.hasReviewed(reviewForm.getGameId(), username)) {
             redirectAttributes.addAttribute("error", "You already reviewed this game");
             return "redirect:/game/" + reviewForm.getGameId();
         }
-        reviewService.create(game.get(), reviewForm.getUsername(), reviewForm.getRating(), reviewForm.getComment());
-        redirectAttributes.addAttribute("success", "Review saved");
+        Long id;
+        try {
+            id = reviewIntake.submit(game.get(), reviewForm.getUsername(), reviewForm.getRating(),
+                    reviewForm.getComment());
+        } catch (IllegalArgumentException | DuplicateReviewException | ReviewBacklogFullException e) {
+            redirectAttributes.addAttribute("error", e.getMessage());
+            return "redirect:/game/" + reviewForm.getGameId();
+        } catch (ReviewLogUnavailableException e) {
+            redirectAttributes.addAttribute("error", "Reviews cannot be saved right now, please retry shortly");
+            return "redirect:/game/" + reviewForm.getGameId();
+        }
+        redirectAttributes.addAttribute("success",
+                id != null ? "Review saved" : "Review received, it will appear shortly");
         return "redirect:/game/" + reviewForm.getGameId();
     }
 
-    private boolean canAccess(String required, String current) {
-        return PlanTier.weight(current) >= PlanTier.weight(required);
-    }
-
     public static class ReviewForm {
         private Long gameId;
         private String username;
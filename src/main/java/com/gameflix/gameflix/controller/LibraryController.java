@@ -2,6 +2,7 @@ package com.gameflix.gameflix.controller;
 
 import com.gameflix.gameflix.model.Game;
 import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.service.EntitlementService;
 import com.gameflix.gameflix.service.GameService;
 import com.gameflix.gameflix.service.LibraryService;
 import jakarta.servlet.http.HttpSession;
@@ -17,10 +18,13 @@ public class LibraryController {
 
     private final LibraryService libraryService;
     private final GameService gameService;
+    private final EntitlementService entitlementService;
 
-    public LibraryController(LibraryService libraryService, GameService gameService) {
+    public LibraryController(LibraryService libraryService, GameService gameService,
+                             EntitlementService entitlementService) {
         this.libraryService = libraryService;
         this.gameService = gameService;
+        this.entitlementService = entitlementService;
     }
 
     @PostMapping("/library/add")
@@ -39,22 +43,15 @@ public class LibraryController {
         }
 
         // Check subscription tier
-        String requiredTier = PlanTier.normalize(g.get().getSubscriptionTier());
-        String currentTier = PlanTier.normalize((String) session.getAttribute("planTier"));
-        if (currentTier == null) {
-            currentTier = PlanTier.FREE;
-        }
-        if (requiredTier != null && currentTier != null && !canAccess(requiredTier, currentTier)) {
+        int planMask = entitlementService.planMask((String) session.getAttribute("planTier"));
+        if (!entitlementService.canAccess(planMask, g.get().getSubscriptionTier())) {
+            String requiredTier = PlanTier.normalize(g.get().getSubscriptionTier());
             redirectAttributes.addAttribute("error", "This game requires " + requiredTier + " or higher.");
             return "redirect:/game/" + gameId;
         }
 
-        libraryService.add(user.toString(), g.get());
+        libraryService.add(user.toString(), gameId);
         redirectAttributes.addAttribute("success", "Added to your library");
         return "redirect:/game/" + gameId;
     }
-
-    private boolean canAccess(String required, String current) {
-        return PlanTier.weight(current) >= PlanTier.weight(required);
-    }
 }
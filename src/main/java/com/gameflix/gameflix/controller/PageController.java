@@ -1,13 +1,40 @@
 package com.gameflix.gameflix.controller;
 
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.service.LeaderboardService;
+import com.gameflix.gameflix.service.TrendingService;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @Controller
 public class PageController {
 
+    private static final int HOME_TRENDING = 8;
+    private static final int HOME_TOP_RATED = 8;
+
+    private final TrendingService trendingService;
+    private final LeaderboardService leaderboardService;
+
+    public PageController(TrendingService trendingService, LeaderboardService leaderboardService) {
+        this.trendingService = trendingService;
+        this.leaderboardService = leaderboardService;
+    }
+
     @GetMapping({"/", "/home"})
-    public String home() {
+    public String home(@RequestParam(value = "genre", required = false) String genre,
+                       @RequestParam(value = "tier", required = false) String tier,
+                       Model model) {
+        String selectedTier = PlanTier.normalize(tier);
+        model.addAttribute("trending", trendingService.trending(genre, selectedTier, HOME_TRENDING));
+        model.addAttribute("topRated", leaderboardService.topRated(genre, selectedTier, HOME_TOP_RATED));
+        model.addAttribute("trendingGenres", trendingService.genres());
+        model.addAttribute("trendingTiers", List.of(PlanTier.FREE, PlanTier.RETRO, PlanTier.INDIE, PlanTier.AAA));
+        model.addAttribute("selectedGenre", genre);
+        model.addAttribute("selectedTier", selectedTier);
         return "index";
     }
 
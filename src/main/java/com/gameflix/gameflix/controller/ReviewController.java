@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,8 +16,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.gameflix.gameflix.model.Game;
-import com.gameflix.gameflix.model.Review;
+import com.gameflix.gameflix.model.ReviewBatchResult;
+import com.gameflix.gameflix.service.DuplicateReviewException;
 import com.gameflix.gameflix.service.GameService;
+import com.gameflix.gameflix.service.ReviewBacklogFullException;
+import com.gameflix.gameflix.service.ReviewIntake;
+import com.gameflix.gameflix.service.ReviewLogUnavailableException;
 import com.gameflix.gameflix.service.ReviewService;
 
 @RestController
@@ -24,18 +30,25 @@ public class ReviewController {
 
     private final ReviewService reviewService;
     private final GameService gameService;
+    private final ReviewIntake reviewIntake;
 
-    public ReviewController(ReviewService reviewService, GameService gameService) {
+    public ReviewController(ReviewService reviewService, GameService gameService, ReviewIntake reviewIntake) {
         this.reviewService = reviewService;
         this.gameService = gameService;
+        this.reviewIntake = reviewIntake;
     }
 
     @GetMapping
-    public List<Review> list(@RequestParam(name = "gameId", required = false) Long gameId) {
-        if (gameId != null) {
-            return reviewService.listForGame(gameId);
+    public ResponseEntity<?> list(@RequestParam(name = "gameId", required = false) Long gameId,
+                                  @RequestParam(name = "cursor", required = false) String cursor,
+                                  @RequestParam(name = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(reviewService.page(gameId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
         }
-        return reviewService.listAll();
     }
 
     @PostMapping
@@ -58,12 +71,67 @@ public class ReviewController {
             return ResponseEntity.status(404).body(res);
         }
 
-        Review saved = reviewService.create(game.get(), req.getUsername(), req.getRating(), req.getComment());
+        Long id;
+        try {
+            id = reviewIntake.submit(game.get(), req.getUsername(), req.getRating(), req.getComment());
+        } catch (IllegalArgumentException e) {
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        } catch (DuplicateReviewException e) {
+            res.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(res);
+        } catch (ReviewBacklogFullException e) {
+            res.put("message", "Too many reviews are waiting to be saved, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(res);
+        } catch (ReviewLogUnavailableException e) {
+            res.put("message", "Reviews cannot be saved right now, please retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(res);
+        }
+        if (id == null) {
+            res.put("message", "Review accepted");
+            return ResponseEntity.accepted().body(res);
+        }
         res.put("message", "Review saved");
-        res.put("id", saved.getId().toString());
+        res.put("id", id.toString());
         return ResponseEntity.ok(res);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBatch(@RequestBody List<ReviewRequest> reqs) {
+        if (reqs.size() > ReviewService.MAX_BATCH_SIZE) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "At most " + ReviewService.MAX_BATCH_SIZE + " reviews per batch");
+            return ResponseEntity.badRequest().body(res);
+        }
+        List<ReviewService.NewReview> reviews = reqs.stream()
+                .map(r -> new ReviewService.NewReview(r.getGameId(), r.getUsername(), r.getRating(), r.getComment()))
+                .toList();
+        try {
+            return ResponseEntity.ok(createBatchRetryingOnce(reviews));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(res);
+        } catch (DuplicateReviewException e) {
+            Map<String, String> res = new HashMap<>();
+            res.put("message", "Reviews in this batch are being posted concurrently, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(res);
+        }
+    }
+
+    // A batch that lost a race with a concurrent post fails whole; the retry reports that review as a duplicate.
+    private ReviewBatchResult createBatchRetryingOnce(List<ReviewService.NewReview> reviews) {
+        try {
+            return reviewService.createBatch(reviews);
+        } catch (DuplicateReviewException e) {
+            return reviewService.createBatch(reviews);
+        }
+    }
+
     public static class ReviewRequest {
         private Long gameId;
         private String username;
@@ -0,0 +1,58 @@
+package com.gameflix.gameflix.entitlement;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Required-tier bit of every game, one byte per game indexed directly by id
+ * (ids come from a dense sequence). Zero marks an id that is not a game.
+ */
+public class EntitlementIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] required = new byte[INITIAL_CAPACITY];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Long id, String subscriptionTier) {
+        int slot = Math.toIntExact(id);
+        byte bit = (byte) TierMask.required(subscriptionTier);
+        lock.writeLock().lock();
+        try {
+            if (slot >= required.length) {
+                required = Arrays.copyOf(required, Math.max(slot + 1, required.length * 2));
+            }
+            required[slot] = bit;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            required = new byte[INITIAL_CAPACITY];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Required bit per id, in order, read under a single lock; 0 for unknown ids. */
+    public int[] required(List<Long> ids) {
+        int[] bits = new int[ids.size()];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < bits.length; i++) {
+                Long id = ids.get(i);
+                if (id != null && id >= 0 && id < required.length) {
+                    bits[i] = required[(int) id.longValue()];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return bits;
+    }
+}
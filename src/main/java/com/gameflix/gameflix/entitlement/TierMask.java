@@ -0,0 +1,41 @@
+package com.gameflix.gameflix.entitlement;
+
+import com.gameflix.gameflix.model.PlanTier;
+
+/**
+ * One bit per plan tier. A plan resolves to the mask of every tier it
+ * includes (Indie = Free|Retro|Indie); a game requires exactly one bit, so an
+ * access check is a single AND. Unknown plans and untiered games count as Free.
+ */
+public final class TierMask {
+
+    public static final int FREE = 1;
+    public static final int RETRO = 1 << 1;
+    public static final int INDIE = 1 << 2;
+    public static final int AAA = 1 << 3;
+
+    private TierMask() {
+    }
+
+    public static int plan(String planTier) {
+        return (1 << Math.max(1, PlanTier.weight(planTier))) - 1;
+    }
+
+    public static int required(String subscriptionTier) {
+        return 1 << (Math.max(1, PlanTier.weight(subscriptionTier)) - 1);
+    }
+
+    public static boolean allows(int planMask, int requiredBit) {
+        return (planMask & requiredBit) != 0;
+    }
+
+    /** Canonical tier name for a single required bit. */
+    public static String tier(int requiredBit) {
+        return switch (requiredBit) {
+            case RETRO -> PlanTier.RETRO;
+            case INDIE -> PlanTier.INDIE;
+            case AAA -> PlanTier.AAA;
+            default -> PlanTier.FREE;
+        };
+    }
+}
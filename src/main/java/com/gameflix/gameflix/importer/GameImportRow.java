@@ -0,0 +1,75 @@
+package com.gameflix.gameflix.importer;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.PlanTier;
+
+import java.util.List;
+import java.util.Map;
+
+/** One game as it appears in an import file; columns/keys match the Game properties. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GameImportRow(
+        String title,
+        String genre,
+        String description,
+        String coverUrl,
+        String heroUrl,
+        String subscriptionTier
+) {
+
+    public static GameImportRow fromCsv(Map<String, Integer> header, List<String> fields) {
+        return new GameImportRow(
+                column(header, fields, "title"),
+                column(header, fields, "genre"),
+                column(header, fields, "description"),
+                column(header, fields, "coverUrl"),
+                column(header, fields, "heroUrl"),
+                column(header, fields, "subscriptionTier"));
+    }
+
+    /** Reason the row cannot be imported, or null when it is valid. */
+    public String validate() {
+        if (title == null || title.isBlank()) {
+            return "Missing title";
+        }
+        if (title.trim().length() > 150) {
+            return "Title longer than 150 characters";
+        }
+        if (tooLong(genre, 80) || tooLong(description, 4000) || tooLong(coverUrl, 500) || tooLong(heroUrl, 500)) {
+            return "Field exceeds column length";
+        }
+        if (!blank(subscriptionTier) && PlanTier.normalize(subscriptionTier) == null) {
+            return "Unknown subscription tier: " + subscriptionTier;
+        }
+        return null;
+    }
+
+    public Game toGame() {
+        Game game = new Game();
+        game.setTitle(title.trim());
+        game.setGenre(trimToNull(genre));
+        game.setDescription(trimToNull(description));
+        game.setCoverUrl(trimToNull(coverUrl));
+        game.setHeroUrl(trimToNull(heroUrl));
+        game.setSubscriptionTier(blank(subscriptionTier) ? null : PlanTier.normalize(subscriptionTier));
+        return game;
+    }
+
+    private static String column(Map<String, Integer> header, List<String> fields, String name) {
+        Integer index = header.get(name.toLowerCase());
+        return index != null && index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static boolean tooLong(String value, int max) {
+        return value != null && value.trim().length() > max;
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String trimToNull(String value) {
+        return blank(value) ? null : value.trim();
+    }
+}
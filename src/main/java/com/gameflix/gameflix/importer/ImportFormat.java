@@ -0,0 +1,18 @@
+package com.gameflix.gameflix.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_TYPE = "text/csv";
+    public static final String NDJSON_TYPE = "application/x-ndjson";
+
+    public static ImportFormat of(MediaType contentType) {
+        if (contentType != null && MediaType.parseMediaType(NDJSON_TYPE).isCompatibleWith(contentType)) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
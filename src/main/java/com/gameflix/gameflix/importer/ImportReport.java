@@ -0,0 +1,21 @@
+package com.gameflix.gameflix.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Counters cover every row; {@code rejects} keeps
+ * only the first few failures so the report stays small for huge files.
+ */
+public record ImportReport(
+        long rows,
+        long imported,
+        long duplicates,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<Reject> rejects
+) {
+
+    public record Reject(long row, String title, String reason) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.gameflix.gameflix.leaderboard;
+
+import com.gameflix.gameflix.model.PlanTier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Games ranked by Bayesian average rating, (C * m + sum) / (C + n): C is the
+ * prior weight in reviews and m the prior mean, so a game's own average only
+ * dominates once it has a comparable number of reviews. A game sits in up to
+ * four skip lists (overall, its genre, its tier, genre and tier); a rating
+ * change moves it in each in O(log n), and {@link #top} walks the first K.
+ */
+public class RatingLeaderboard {
+
+    public record Ranked(long gameId, double score, long reviewCount, double average) {
+    }
+
+    private static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::score).reversed()
+            .thenComparing(Comparator.comparingLong(Ranked::reviewCount).reversed())
+            .thenComparingLong(Ranked::gameId);
+    private static final String ANY = "*";
+
+    private record Placement(Ranked ranked, String genre, String tier) {
+    }
+
+    private final double priorWeight;
+    private final double priorMean;
+    private final ConcurrentHashMap<Long, Placement> placements = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, NavigableSet<Ranked>> boards = new ConcurrentHashMap<>();
+
+    public RatingLeaderboard(double priorWeight, double priorMean) {
+        this.priorWeight = priorWeight;
+        this.priorMean = priorMean;
+    }
+
+    public double score(long reviewCount, long ratingSum) {
+        return (priorWeight * priorMean + ratingSum) / (priorWeight + reviewCount);
+    }
+
+    /**
+     * Sets a game's rating totals. Totals older than the ones already held
+     * (fewer reviews, from an event that arrived late) are ignored.
+     */
+    public void update(long gameId, String genre, String tier, long reviewCount, long ratingSum) {
+        if (reviewCount <= 0) {
+            return;
+        }
+        Ranked ranked = new Ranked(gameId, score(reviewCount, ratingSum), reviewCount, (double) ratingSum / reviewCount);
+        placements.compute(gameId, (id, old) -> {
+            if (old != null && old.ranked().reviewCount() > reviewCount) {
+                return old;
+            }
+            Placement next = new Placement(ranked, genreKey(genre), PlanTier.normalize(tier));
+            move(old, next);
+            return next;
+        });
+    }
+
+    /** Moves a ranked game to its new genre and tier lists, keeping its score. */
+    public void reclassify(long gameId, String genre, String tier) {
+        placements.computeIfPresent(gameId, (id, old) -> {
+            Placement next = new Placement(old.ranked(), genreKey(genre), PlanTier.normalize(tier));
+            if (!next.equals(old)) {
+                move(old, next);
+            }
+            return next;
+        });
+    }
+
+    /** The first limit games for a genre (any case) and a canonical tier; null means any. */
+    public List<Ranked> top(String genre, String tier, int limit) {
+        String g = genre == null || genre.isBlank() ? ANY : genreKey(genre);
+        NavigableSet<Ranked> board = boards.get(key(g, tier == null ? ANY : tier));
+        if (board == null || limit <= 0) {
+            return List.of();
+        }
+        List<Ranked> top = new ArrayList<>(limit);
+        Iterator<Ranked> it = board.iterator();
+        while (top.size() < limit && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public int size() {
+        return placements.size();
+    }
+
+    // Remove before add: a concurrent reader may briefly miss the game, but never sees it twice.
+    private void move(Placement old, Placement next) {
+        if (old != null) {
+            for (String key : keys(old)) {
+                NavigableSet<Ranked> board = boards.get(key);
+                if (board != null) {
+                    board.remove(old.ranked());
+                }
+            }
+        }
+        for (String key : keys(next)) {
+            boards.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>(ORDER)).add(next.ranked());
+        }
+    }
+
+    private static List<String> keys(Placement p) {
+        List<String> keys = new ArrayList<>(4);
+        keys.add(key(ANY, ANY));
+        if (p.genre() != null) {
+            keys.add(key(p.genre(), ANY));
+        }
+        if (p.tier() != null) {
+            keys.add(key(ANY, p.tier()));
+        }
+        if (p.genre() != null && p.tier() != null) {
+            keys.add(key(p.genre(), p.tier()));
+        }
+        return keys;
+    }
+
+    private static String genreKey(String genre) {
+        return genre == null || genre.isBlank() ? null : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String genre, String tier) {
+        return genre + '|' + tier;
+    }
+}
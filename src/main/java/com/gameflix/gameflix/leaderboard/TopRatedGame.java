@@ -0,0 +1,7 @@
+package com.gameflix.gameflix.leaderboard;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.gameflix.gameflix.model.GameSummary;
+
+public record TopRatedGame(@JsonUnwrapped GameSummary game, double score, double average, long reviewCount) {
+}
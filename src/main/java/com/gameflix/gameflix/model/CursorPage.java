@@ -0,0 +1,6 @@
+package com.gameflix.gameflix.model;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,14 @@
+package com.gameflix.gameflix.model;
+
+import java.util.List;
+
+/** Access to each requested game under one plan, in request order. */
+public record EntitlementCheck(String plan, int allowed, int locked, List<Item> results) {
+
+    public static final String ALLOWED = "allowed";
+    public static final String LOCKED = "locked";
+    public static final String GAME_NOT_FOUND = "game_not_found";
+
+    public record Item(Long gameId, String status, String requiredTier) {
+    }
+}
@@ -2,13 +2,18 @@ package com.gameflix.gameflix.model;
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import java.time.Instant;
 
 @Entity
 @Table(name = "games")
 public class Game implements Serializable {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence ids (a table on MySQL) let Hibernate batch inserts; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "games_seq")
+    @SequenceGenerator(name = "games_seq", sequenceName = "games_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -32,6 +37,19 @@ public class Game implements Serializable {
     @Column(length = 20)
     private String subscriptionTier; // Free, Retro, Indie, AAA
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @Column
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
     public Long getId() {
         return id;
     }
@@ -95,4 +113,20 @@ public class Game implements Serializable {
     public void setSubscriptionTier(String subscriptionTier) {
         this.subscriptionTier = subscriptionTier;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
@@ -0,0 +1,44 @@
+package com.gameflix.gameflix.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the sort it belongs to plus the sort key and id of the
+ * last row on the previous page. Encoded as URL-safe base64 so it can travel
+ * in query strings.
+ */
+public record GameCursor(GameSort sort, String key, long id) {
+
+    public String encode() {
+        String raw = sort.name() + ":" + id + ":" + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GameCursor decode(String token, GameSort expected) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(':');
+            int second = raw.indexOf(':', first + 1);
+            if (first < 0 || second < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            GameSort sort = GameSort.valueOf(raw.substring(0, first));
+            if (sort != expected) {
+                throw new IllegalArgumentException("Cursor does not match sort " + expected.key());
+            }
+            long id = Long.parseLong(raw.substring(first + 1, second));
+            String key = raw.substring(second + 1);
+            return new GameCursor(sort, key.isEmpty() ? null : key, id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public Double ratingKey() {
+        return key != null ? Double.valueOf(key) : null;
+    }
+}
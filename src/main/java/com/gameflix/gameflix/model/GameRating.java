@@ -0,0 +1,119 @@
+package com.gameflix.gameflix.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Running review totals for one game. Rows are only ever changed with
+ * in-database increments (see GameRatingRepository#increment), so the average
+ * and histogram never require scanning reviews.
+ */
+@Entity
+@Table(name = "game_ratings")
+public class GameRating implements Serializable {
+
+    @Id
+    @Column(name = "game_id")
+    private Long gameId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    public static GameRating empty(Long gameId) {
+        GameRating rating = new GameRating();
+        rating.setGameId(gameId);
+        return rating;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(long reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public long getStars1() {
+        return stars1;
+    }
+
+    public void setStars1(long stars1) {
+        this.stars1 = stars1;
+    }
+
+    public long getStars2() {
+        return stars2;
+    }
+
+    public void setStars2(long stars2) {
+        this.stars2 = stars2;
+    }
+
+    public long getStars3() {
+        return stars3;
+    }
+
+    public void setStars3(long stars3) {
+        this.stars3 = stars3;
+    }
+
+    public long getStars4() {
+        return stars4;
+    }
+
+    public void setStars4(long stars4) {
+        this.stars4 = stars4;
+    }
+
+    public long getStars5() {
+        return stars5;
+    }
+
+    public void setStars5(long stars5) {
+        this.stars5 = stars5;
+    }
+
+    public Double getAverage() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : null;
+    }
+
+    /** Review counts for 5 stars down to 1 star, the order the game page renders them. */
+    public List<Long> getHistogram() {
+        return List.of(stars5, stars4, stars3, stars2, stars1);
+    }
+}
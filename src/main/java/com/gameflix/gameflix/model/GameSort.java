@@ -0,0 +1,25 @@
+package com.gameflix.gameflix.model;
+
+import java.util.Locale;
+
+public enum GameSort {
+    TITLE,
+    RATING,
+    NEWEST,
+    RELEVANCE;
+
+    public static GameSort parse(String raw, GameSort fallback) {
+        if (raw == null || raw.isBlank()) {
+            return fallback;
+        }
+        try {
+            return valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
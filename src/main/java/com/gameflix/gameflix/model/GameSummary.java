@@ -0,0 +1,16 @@
+package com.gameflix.gameflix.model;
+
+/**
+ * List-view projection of {@link Game}; {@code summary} is the first
+ * {@link #SUMMARY_LENGTH} characters of the description.
+ */
+public record GameSummary(Long id,
+                          String title,
+                          String genre,
+                          String summary,
+                          String coverUrl,
+                          Double ratingAvg,
+                          String subscriptionTier) {
+
+    public static final int SUMMARY_LENGTH = 160;
+}
@@ -0,0 +1,14 @@
+package com.gameflix.gameflix.model;
+
+import java.time.Instant;
+
+public record GameVersion(Long id, long version, Instant updatedAt) {
+
+    public String etag() {
+        return "W/\"game-" + id + "-" + version + "\"";
+    }
+
+    public long lastModifiedMillis() {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+}
@@ -0,0 +1,12 @@
+package com.gameflix.gameflix.model;
+
+import java.time.LocalDateTime;
+
+public record LibraryItem(Long entryId,
+                          Long gameId,
+                          String title,
+                          String genre,
+                          String coverUrl,
+                          String subscriptionTier,
+                          LocalDateTime addedAt) {
+}
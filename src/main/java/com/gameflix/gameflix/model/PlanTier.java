@@ -1,7 +1,9 @@
 package com.gameflix.gameflix.model;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public final class PlanTier {
     public static final String FREE = "Free";
@@ -9,7 +11,18 @@ public final class PlanTier {
     public static final String INDIE = "Indie";
     public static final String AAA = "AAA";
 
-    private static final List<String> ORDER = List.of(FREE, RETRO, INDIE, AAA);
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("free", FREE),
+            Map.entry("starter", FREE),
+            Map.entry("retro", RETRO),
+            Map.entry("retro pack", RETRO),
+            Map.entry("indie", INDIE),
+            Map.entry("indie pack", INDIE),
+            Map.entry("pro", INDIE),
+            Map.entry("aaa", AAA),
+            Map.entry("aaa pack", AAA),
+            Map.entry("ultimate", AAA)
+    );
 
     private PlanTier() {
     }
@@ -18,25 +31,26 @@ public final class PlanTier {
         if (raw == null) {
             return null;
         }
-        String tier = raw.trim().toLowerCase(Locale.ROOT);
-        switch (tier) {
-            case "free":
-            case "starter":
-                return FREE;
-            case "retro":
-            case "retro pack":
-                return RETRO;
-            case "indie":
-            case "indie pack":
-            case "pro":
-                return INDIE;
-            case "aaa":
-            case "aaa pack":
-            case "ultimate":
-                return AAA;
-            default:
-                return null;
+        // Session values and imported tiers are already canonical; skip the lowercase copy.
+        return switch (raw) {
+            case FREE, RETRO, INDIE, AAA -> raw;
+            default -> ALIASES.get(raw.trim().toLowerCase(Locale.ROOT));
+        };
+    }
+
+    /** Lowercase raw values that {@link #normalize(String)} maps to the given tier. */
+    public static List<String> aliases(String tier) {
+        String normalized = normalize(tier);
+        if (normalized == null) {
+            return List.of();
+        }
+        List<String> aliases = new ArrayList<>();
+        for (Map.Entry<String, String> e : ALIASES.entrySet()) {
+            if (e.getValue().equals(normalized)) {
+                aliases.add(e.getKey());
+            }
         }
+        return aliases;
     }
 
     public static int weight(String tier) {
@@ -44,7 +58,12 @@ public final class PlanTier {
         if (normalized == null) {
             return 0;
         }
-        return ORDER.indexOf(normalized) + 1;
+        return switch (normalized) {
+            case FREE -> 1;
+            case RETRO -> 2;
+            case INDIE -> 3;
+            default -> 4;
+        };
     }
 
     public static List<PlanDescriptor> descriptors() {
@@ -0,0 +1,15 @@
+package com.gameflix.gameflix.model;
+
+import java.util.List;
+
+/** Per-item outcome of a batch review submission, in request order. */
+public record ReviewBatchResult(int saved, int rejected, List<Item> results) {
+
+    public static final String CREATED = "created";
+    public static final String INVALID = "invalid";
+    public static final String GAME_NOT_FOUND = "game_not_found";
+    public static final String DUPLICATE = "duplicate";
+
+    public record Item(int index, String status, Long id, String message) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.gameflix.gameflix.model;
+
+import jakarta.persistence.*;
+
+/** Last review log sequence number drained into reviews, per write-behind log. */
+@Entity
+@Table(name = "review_log_checkpoints")
+public class ReviewLogCheckpoint {
+
+    @Id
+    @Column(name = "log_id", length = 36)
+    private String logId;
+
+    @Column(name = "drained_seq", nullable = false)
+    private long drainedSeq;
+
+    public String getLogId() {
+        return logId;
+    }
+
+    public void setLogId(String logId) {
+        this.logId = logId;
+    }
+
+    public long getDrainedSeq() {
+        return drainedSeq;
+    }
+
+    public void setDrainedSeq(long drainedSeq) {
+        this.drainedSeq = drainedSeq;
+    }
+}
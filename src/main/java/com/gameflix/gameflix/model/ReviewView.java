@@ -0,0 +1,12 @@
+package com.gameflix.gameflix.model;
+
+import java.time.LocalDateTime;
+
+public record ReviewView(Long id,
+                         Long gameId,
+                         String gameTitle,
+                         String username,
+                         Integer rating,
+                         String comment,
+                         LocalDateTime createdAt) {
+}
@@ -0,0 +1,115 @@
+package com.gameflix.gameflix.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse game x game matrix counting how many libraries hold both games. Each
+ * row is a primitive {@link LongIntMap} capped at maxNeighbors columns; when a
+ * full row meets a new column it replaces the smallest count and starts at 1,
+ * so a long tail of one-off pairs churns among itself while established pairs
+ * stay, counts never overstate, and memory stays at games * maxNeighbors
+ * entries at most. Rows are locked individually, so updates and lookups of
+ * different games do not contend.
+ */
+public class CoOccurrenceMatrix {
+
+    private final int maxNeighbors;
+    private final ConcurrentHashMap<Long, LongIntMap> rows = new ConcurrentHashMap<>();
+
+    public CoOccurrenceMatrix(int maxNeighbors) {
+        if (maxNeighbors < 1) {
+            throw new IllegalArgumentException("maxNeighbors must be positive");
+        }
+        this.maxNeighbors = maxNeighbors;
+    }
+
+    /** Counts every pair among the first length ids of one library; used by the bulk build. */
+    public void addLibrary(long[] gameIds, int length) {
+        for (int i = 0; i < length; i++) {
+            for (int j = 0; j < length; j++) {
+                if (gameIds[i] != gameIds[j]) {
+                    increment(gameIds[i], gameIds[j]);
+                }
+            }
+        }
+    }
+
+    /** Counts a game just added to a library against each game the library already held. */
+    public void add(long gameId, long[] existing) {
+        for (long other : existing) {
+            if (other != gameId) {
+                increment(gameId, other);
+                increment(other, gameId);
+            }
+        }
+    }
+
+    /** Up to limit games most often held together with gameId, highest count first (lower id on ties). */
+    public List<Related> top(long gameId, int limit) {
+        LongIntMap row = rows.get(gameId);
+        if (row == null || limit <= 0) {
+            return List.of();
+        }
+        long[] ids = new long[limit];
+        int[] counts = new int[limit];
+        int[] filled = {0};
+        synchronized (row) {
+            row.forEach((id, count) -> {
+                int n = filled[0];
+                if (n == limit && !before(id, count, ids[n - 1], counts[n - 1])) {
+                    return;
+                }
+                int i = n == limit ? n - 1 : n;
+                while (i > 0 && before(id, count, ids[i - 1], counts[i - 1])) {
+                    ids[i] = ids[i - 1];
+                    counts[i] = counts[i - 1];
+                    i--;
+                }
+                ids[i] = id;
+                counts[i] = count;
+                if (n < limit) {
+                    filled[0] = n + 1;
+                }
+            });
+        }
+        List<Related> top = new ArrayList<>(filled[0]);
+        for (int i = 0; i < filled[0]; i++) {
+            top.add(new Related(ids[i], counts[i]));
+        }
+        return top;
+    }
+
+    public int count(long gameId, long otherId) {
+        LongIntMap row = rows.get(gameId);
+        if (row == null) {
+            return 0;
+        }
+        synchronized (row) {
+            return row.get(otherId);
+        }
+    }
+
+    public int games() {
+        return rows.size();
+    }
+
+    public void clear() {
+        rows.clear();
+    }
+
+    private void increment(long gameId, long otherId) {
+        LongIntMap row = rows.computeIfAbsent(gameId, k -> new LongIntMap());
+        synchronized (row) {
+            if (row.size() >= maxNeighbors && !row.containsKey(otherId)) {
+                row.remove(row.minKey());
+            }
+            row.add(otherId, 1);
+        }
+    }
+
+    private static boolean before(long id, int count, long otherId, int otherCount) {
+        return count > otherCount || count == otherCount && id < otherId;
+    }
+}
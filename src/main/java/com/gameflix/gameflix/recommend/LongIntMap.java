@@ -0,0 +1,138 @@
+package com.gameflix.gameflix.recommend;
+
+/**
+ * Open-addressing long to int map with linear probing over two parallel
+ * arrays, so an entry costs 12 bytes (plus load-factor slack) instead of a
+ * boxed HashMap node. Key 0 marks an empty slot; game ids start at 1.
+ * Not thread-safe.
+ */
+final class LongIntMap {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] keys = new long[MIN_CAPACITY];
+    private int[] values = new int[MIN_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return slot(key) >= 0;
+    }
+
+    /** Value for the key, or 0 when absent. */
+    int get(long key) {
+        int slot = slot(key);
+        return slot < 0 ? 0 : values[slot];
+    }
+
+    /** Adds delta to the key's value (inserting it at delta) and returns the new value. */
+    int add(long key, int delta) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key must not be 0");
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return values[i] += delta;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = delta;
+        if (++size * 4 > keys.length * 3) {
+            grow();
+        }
+        return delta;
+    }
+
+    /** Removes the key, shifting back later entries of its probe run so lookups need no tombstones. */
+    void remove(long key) {
+        int hole = slot(key);
+        if (hole < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (keys[i] == 0) {
+                break;
+            }
+            int home = hash(keys[i]) & mask;
+            // The entry at i may move into the hole only if its home slot is not in (hole, i].
+            boolean reachable = hole <= i ? home > hole && home <= i : home > hole || home <= i;
+            if (!reachable) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = 0;
+        size--;
+    }
+
+    /** Key with the smallest value (lowest key on ties), or 0 when empty. */
+    long minKey() {
+        long min = 0;
+        int minValue = Integer.MAX_VALUE;
+        for (int i = 0; i < keys.length; i++) {
+            long k = keys[i];
+            if (k != 0 && (values[i] < minValue || values[i] == minValue && k < min)) {
+                min = k;
+                minValue = values[i];
+            }
+        }
+        return min;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private int slot(long key) {
+        if (key == 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != 0) {
+            if (keys[i] == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                add(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    // Sequential ids would cluster in adjacent slots; the multiply spreads them across the table.
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
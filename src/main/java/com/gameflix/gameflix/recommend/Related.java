@@ -0,0 +1,5 @@
+package com.gameflix.gameflix.recommend;
+
+/** A game held together with another, and in how many libraries. */
+public record Related(long gameId, int count) {
+}
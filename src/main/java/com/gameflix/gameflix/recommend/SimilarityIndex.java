@@ -0,0 +1,429 @@
+package com.gameflix.gameflix.recommend;
+
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.search.CatalogSearchIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Content-based "more like this". Each game is a TF-IDF vector over its
+ * description words plus one genre and one plan-tier feature, L2-normalized,
+ * and its {@link #NEIGHBORS} most cosine-similar games are precomputed on a
+ * fork-join pool. Lookups only read the precomputed lists.
+ * <p>
+ * Candidates come from the postings of selective terms (at most
+ * {@link #MAX_POSTINGS} games); terms more common than that, such as a genre,
+ * only re-rank candidates, which keeps a build near-linear in the catalog.
+ * {@link #update} re-vectorizes changed games with the current document
+ * frequencies and recomputes just the rows they can appear in; weights of
+ * untouched games keep the IDF of the last full build until the next one.
+ */
+public class SimilarityIndex {
+
+    public static final int NEIGHBORS = 10;
+    static final int MAX_POSTINGS = 1_000;
+    private static final int CANDIDATES = NEIGHBORS * 4;
+    private static final int LEAF_SIZE = 512;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final float GENRE_BOOST = 2f;
+    private static final float TIER_BOOST = 1f;
+    // Feature terms contain ':', which the word tokenizer never emits.
+    private static final String GENRE = "genre:";
+    private static final String TIER = "tier:";
+
+    public record Document(long id, String description, String genre, String tier) {
+    }
+
+    private record Neighbors(long[] ids, float[] scores) {
+    }
+
+    private volatile Map<Long, Neighbors> neighbors = new ConcurrentHashMap<>();
+
+    // Writer state: only touched while holding writeLock, and by the pool tasks the writer waits for.
+    private final Object writeLock = new Object();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<Long, Integer> docIndex = new HashMap<>();
+    private final List<Vector> vectors = new ArrayList<>();
+    private long[] ids = new long[0];
+
+    /** Precomputed similar game ids, most similar first. */
+    public List<Long> similar(long gameId, int limit) {
+        Neighbors row = neighbors.get(gameId);
+        if (row == null || limit <= 0) {
+            return List.of();
+        }
+        int n = Math.min(limit, row.ids().length);
+        List<Long> similar = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            similar.add(row.ids()[i]);
+        }
+        return similar;
+    }
+
+    public int size() {
+        return neighbors.size();
+    }
+
+    /** Replaces the whole index; neighbor rows are computed on the given pool. */
+    public void build(Collection<Document> documents, ForkJoinPool pool) {
+        synchronized (writeLock) {
+            termIds.clear();
+            postings.clear();
+            docIndex.clear();
+            vectors.clear();
+            ids = new long[documents.size()];
+
+            List<Map<Integer, Integer>> counts = new ArrayList<>(documents.size());
+            for (Document d : documents) {
+                docIndex.put(d.id(), vectors.size());
+                ids[vectors.size()] = d.id();
+                vectors.add(null);
+                Map<Integer, Integer> c = count(d);
+                c.keySet().forEach(t -> postings.get(t).df++);
+                counts.add(c);
+            }
+            for (int d = 0; d < counts.size(); d++) {
+                index(d, counts.get(d));
+            }
+
+            Map<Long, Neighbors> rows = new ConcurrentHashMap<>(Math.max(16, documents.size() * 2));
+            int[] all = new int[vectors.size()];
+            Arrays.setAll(all, i -> i);
+            pool.invoke(new RowsTask(all, 0, all.length, rows));
+            neighbors = rows;
+        }
+    }
+
+    /** Adds or re-indexes the given games and refreshes only the rows they can change. */
+    public void update(Collection<Document> changed, ForkJoinPool pool) {
+        synchronized (writeLock) {
+            Map<Integer, Map<Integer, Integer>> counts = new HashMap<>();
+            for (Document d : changed) {
+                Integer doc = docIndex.get(d.id());
+                if (doc != null) {
+                    unindex(doc);
+                } else {
+                    doc = vectors.size();
+                    docIndex.put(d.id(), doc);
+                    vectors.add(null);
+                    if (doc == ids.length) {
+                        ids = Arrays.copyOf(ids, Math.max(16, ids.length * 2));
+                    }
+                    ids[doc] = d.id();
+                }
+                Map<Integer, Integer> c = count(d);
+                c.keySet().forEach(t -> postings.get(t).df++);
+                counts.put(doc, c);
+            }
+            counts.forEach(this::index);
+
+            // Rows that listed a changed game, and rows a changed game now scores into.
+            Set<Integer> affected = new LinkedHashSet<>(counts.keySet());
+            Set<Long> changedIds = new HashSet<>();
+            counts.keySet().forEach(d -> changedIds.add(ids[d]));
+            neighbors.forEach((id, row) -> {
+                for (long n : row.ids()) {
+                    if (changedIds.contains(n)) {
+                        affected.add(docIndex.get(id));
+                        return;
+                    }
+                }
+            });
+            boolean[] seen = new boolean[vectors.size()];
+            for (int d : counts.keySet()) {
+                Vector v = vectors.get(d);
+                for (int t : v.terms) {
+                    Postings p = postings.get(t);
+                    if (p.size > MAX_POSTINGS) {
+                        continue;
+                    }
+                    for (int j = 0; j < p.size; j++) {
+                        int o = p.docs[j];
+                        if (seen[o] || o == d) {
+                            continue;
+                        }
+                        seen[o] = true;
+                        Neighbors row = neighbors.get(ids[o]);
+                        if (row == null || row.ids().length < NEIGHBORS
+                                || dot(v, vectors.get(o)) > row.scores()[row.scores().length - 1]) {
+                            affected.add(o);
+                        }
+                    }
+                }
+            }
+
+            int[] docs = affected.stream().mapToInt(Integer::intValue).toArray();
+            pool.invoke(new RowsTask(docs, 0, docs.length, neighbors));
+        }
+    }
+
+    private Map<Integer, Integer> count(Document d) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (String token : CatalogSearchIndex.tokenize(d.description())) {
+            if (token.length() >= MIN_WORD_LENGTH) {
+                counts.merge(termId(token), 1, Integer::sum);
+            }
+        }
+        if (d.genre() != null && !d.genre().isBlank()) {
+            counts.put(termId(GENRE + d.genre().trim().toLowerCase(Locale.ROOT)), 1);
+        }
+        String tier = PlanTier.normalize(d.tier());
+        if (tier != null) {
+            counts.put(termId(TIER + tier), 1);
+        }
+        return counts;
+    }
+
+    private int termId(String term) {
+        return termIds.computeIfAbsent(term, k -> {
+            postings.add(new Postings(k.startsWith(GENRE) ? GENRE_BOOST : k.startsWith(TIER) ? TIER_BOOST : 1f));
+            return postings.size() - 1;
+        });
+    }
+
+    // Weights use sublinear tf and smoothed idf; genre and tier are boosted over a single word.
+    private void index(int doc, Map<Integer, Integer> counts) {
+        int n = vectors.size();
+        int[] terms = counts.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] weights = new float[terms.length];
+        double norm = 0;
+        for (int i = 0; i < terms.length; i++) {
+            Postings p = postings.get(terms[i]);
+            double w = (1 + Math.log(counts.get(terms[i]))) * Math.log(1 + (double) n / p.df);
+            w *= p.boost;
+            weights[i] = (float) w;
+            norm += w * w;
+        }
+        float scale = norm == 0 ? 0 : (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] *= scale;
+            postings.get(terms[i]).add(doc, weights[i]);
+        }
+        vectors.set(doc, new Vector(terms, weights));
+    }
+
+    private void unindex(int doc) {
+        Vector old = vectors.get(doc);
+        for (int t : old.terms) {
+            Postings p = postings.get(t);
+            p.remove(doc);
+            p.df--;
+        }
+        vectors.set(doc, null);
+    }
+
+    private Neighbors query(int doc, float[] acc, int[] touched) {
+        Vector v = vectors.get(doc);
+        int touchedCount = 0;
+        for (int i = 0; i < v.terms.length; i++) {
+            Postings p = postings.get(v.terms[i]);
+            if (p.size > MAX_POSTINGS) {
+                continue;
+            }
+            float w = v.weights[i];
+            for (int j = 0; j < p.size; j++) {
+                int o = p.docs[j];
+                if (o != doc) {
+                    if (acc[o] == 0) {
+                        touched[touchedCount++] = o;
+                    }
+                    acc[o] += w * p.weights[j];
+                }
+            }
+        }
+
+        TopK candidates = new TopK(CANDIDATES);
+        for (int i = 0; i < touchedCount; i++) {
+            int o = touched[i];
+            candidates.offer(o, acc[o], ids[o]);
+            acc[o] = 0;
+        }
+        if (candidates.size < CANDIDATES) {
+            fillFromCommonTerms(doc, v, candidates);
+        }
+
+        TopK top = new TopK(NEIGHBORS);
+        for (int i = 0; i < candidates.size; i++) {
+            int o = candidates.docs[i];
+            float score = dot(v, vectors.get(o));
+            if (score > 0) {
+                top.offer(o, score, ids[o]);
+            }
+        }
+        long[] rowIds = new long[top.size];
+        for (int i = 0; i < top.size; i++) {
+            rowIds[i] = ids[top.docs[i]];
+        }
+        return new Neighbors(rowIds, Arrays.copyOf(top.scores, top.size));
+    }
+
+    // Games sharing only common terms (a genre, frequent words) still need neighbors; take them from
+    // the heaviest common terms first, a bounded number each.
+    private void fillFromCommonTerms(int doc, Vector v, TopK candidates) {
+        Integer[] order = new Integer[v.terms.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Float.compare(v.weights[b], v.weights[a]));
+        for (int i : order) {
+            Postings p = postings.get(v.terms[i]);
+            if (p.size <= MAX_POSTINGS) {
+                continue;
+            }
+            for (int j = 0; j < p.size && j < CANDIDATES * 2 && candidates.size < CANDIDATES; j++) {
+                int o = p.docs[j];
+                if (o != doc && !candidates.contains(o)) {
+                    candidates.offer(o, 0, ids[o]);
+                }
+            }
+            if (candidates.size == CANDIDATES) {
+                return;
+            }
+        }
+    }
+
+    private static float dot(Vector a, Vector b) {
+        float sum = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.terms.length && j < b.terms.length) {
+            if (a.terms[i] == b.terms[j]) {
+                sum += a.weights[i++] * b.weights[j++];
+            } else if (a.terms[i] < b.terms[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    private final class RowsTask extends RecursiveAction {
+
+        private final int[] docs;
+        private final int from;
+        private final int to;
+        private final Map<Long, Neighbors> out;
+
+        RowsTask(int[] docs, int from, int to, Map<Long, Neighbors> out) {
+            this.docs = docs;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                float[] acc = new float[vectors.size()];
+                int[] touched = new int[vectors.size()];
+                for (int i = from; i < to; i++) {
+                    out.put(ids[docs[i]], query(docs[i], acc, touched));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowsTask(docs, from, mid, out), new RowsTask(docs, mid, to, out));
+        }
+    }
+
+    private static final class Vector {
+        final int[] terms;
+        final float[] weights;
+
+        Vector(int[] terms, float[] weights) {
+            this.terms = terms;
+            this.weights = weights;
+        }
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        final float boost;
+        int size;
+        int df;
+
+        Postings(float boost) {
+            this.boost = boost;
+        }
+
+        void add(int doc, float weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size++] = weight;
+        }
+
+        void remove(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+                    System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+
+    // Best-first fixed-size list; ties go to the lower game id so rows are deterministic.
+    private static final class TopK {
+        final int[] docs;
+        final float[] scores;
+        final long[] keys;
+        int size;
+
+        TopK(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+            keys = new long[capacity];
+        }
+
+        void offer(int doc, float score, long key) {
+            int n = size;
+            if (n == docs.length && !before(score, key, scores[n - 1], keys[n - 1])) {
+                return;
+            }
+            int i = n == docs.length ? n - 1 : n;
+            while (i > 0 && before(score, key, scores[i - 1], keys[i - 1])) {
+                docs[i] = docs[i - 1];
+                scores[i] = scores[i - 1];
+                keys[i] = keys[i - 1];
+                i--;
+            }
+            docs[i] = doc;
+            scores[i] = score;
+            keys[i] = key;
+            if (n < docs.length) {
+                size = n + 1;
+            }
+        }
+
+        boolean contains(int doc) {
+            for (int i = 0; i < size; i++) {
+                if (docs[i] == doc) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean before(float score, long key, float otherScore, long otherKey) {
+            return score > otherScore || score == otherScore && key < otherKey;
+        }
+    }
+}
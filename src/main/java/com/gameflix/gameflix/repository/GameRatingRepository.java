@@ -0,0 +1,62 @@
+package com.gameflix.gameflix.repository;
+
+import com.gameflix.gameflix.model.GameRating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+@Repository
+public interface GameRatingRepository extends JpaRepository<GameRating, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "insert into game_ratings "
+            + "(game_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5) "
+            + "values (:gameId, :count, :sum, :s1, :s2, :s3, :s4, :s5) "
+            + "on duplicate key update review_count = review_count + :count, rating_sum = rating_sum + :sum, "
+            + "stars_1 = stars_1 + :s1, stars_2 = stars_2 + :s2, stars_3 = stars_3 + :s3, "
+            + "stars_4 = stars_4 + :s4, stars_5 = stars_5 + :s5",
+            nativeQuery = true)
+    int increment(@Param("gameId") Long gameId, @Param("count") int count, @Param("sum") int sum,
+                  @Param("s1") int stars1, @Param("s2") int stars2, @Param("s3") int stars3,
+                  @Param("s4") int stars4, @Param("s5") int stars5);
+
+    @Query("select coalesce(sum(r.reviewCount), 0) as reviewCount, coalesce(sum(r.ratingSum), 0) as ratingSum "
+            + "from GameRating r")
+    Totals findTotals();
+
+    // Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of buffering the result.
+    // Must be consumed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r.gameId as gameId, g.genre as genre, g.subscriptionTier as subscriptionTier, "
+            + "r.reviewCount as reviewCount, r.ratingSum as ratingSum "
+            + "from GameRating r join Game g on g.id = r.gameId where r.reviewCount > 0")
+    Stream<RatedGame> streamRated();
+
+    interface Totals {
+        long getReviewCount();
+
+        long getRatingSum();
+    }
+
+    interface RatedGame {
+        Long getGameId();
+
+        String getGenre();
+
+        String getSubscriptionTier();
+
+        long getReviewCount();
+
+        long getRatingSum();
+    }
+}
@@ -1,11 +1,118 @@
 package com.gameflix.gameflix.repository;
 
 import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.GameVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
 
+    String SUMMARY = "select new com.gameflix.gameflix.model.GameSummary("
+            + "g.id, g.title, g.genre, substring(g.description, 1, 160), g.coverUrl, g.ratingAvg, g.subscriptionTier) "
+            + "from Game g ";
+
     boolean existsByTitle(String title);
+
+    @Query("select g.id from Game g where g.id in :ids")
+    List<Long> findIdsIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select g.id as id, g.subscriptionTier as subscriptionTier from Game g")
+    List<GameTier> findTiers();
+
+    @Query("select g.id as id, g.title as title, g.ratingAvg as ratingAvg, r.reviewCount as reviewCount "
+            + "from Game g left join GameRating r on r.gameId = g.id")
+    List<GameTitle> findTitles();
+
+    @Query("select g.id as id, g.description as description, g.genre as genre, "
+            + "g.subscriptionTier as subscriptionTier from Game g")
+    List<GameText> findTexts();
+
+    // Title matches count three times on top of the combined title/genre/description score.
+    @Query(value = "select g.id as id, "
+            + "match(g.title) against (:expression in boolean mode) * 3 "
+            + "+ match(g.title, g.genre, g.description) against (:expression in boolean mode) as score "
+            + "from games g where match(g.title, g.genre, g.description) against (:expression in boolean mode) "
+            + "order by score desc, g.id asc limit :limit", nativeQuery = true)
+    List<SearchRow> searchFulltext(@Param("expression") String expression, @Param("limit") int limit);
+
+    @Query("select g.title from Game g where g.title in :titles")
+    List<String> findTitlesIn(@Param("titles") Collection<String> titles);
+
+    @Query(SUMMARY + "where g.id in :ids")
+    List<GameSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SUMMARY + "order by g.title asc, g.id asc")
+    List<GameSummary> findSummariesByTitle(Limit limit);
+
+    @Query(SUMMARY + "where g.title > :title or (g.title = :title and g.id > :id) order by g.title asc, g.id asc")
+    List<GameSummary> findSummariesByTitleAfter(@Param("title") String title, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where g.ratingAvg is not null order by g.ratingAvg desc, g.id desc")
+    List<GameSummary> findRatedSummaries(Limit limit);
+
+    @Query(SUMMARY + "where g.ratingAvg < :rating or (g.ratingAvg = :rating and g.id < :id) "
+            + "order by g.ratingAvg desc, g.id desc")
+    List<GameSummary> findRatedSummariesAfter(@Param("rating") Double rating, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where g.ratingAvg is null and g.id < :id order by g.id desc")
+    List<GameSummary> findUnratedSummariesBefore(@Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY + "where g.id < :id order by g.id desc")
+    List<GameSummary> findSummariesBefore(@Param("id") Long id, Limit limit);
+
+    @Query("select new com.gameflix.gameflix.model.GameVersion(g.id, g.version, g.updatedAt) from Game g where g.id = :id")
+    Optional<GameVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select max(g.updatedAt) from Game g")
+    Instant findLastUpdatedAt();
+
+    @Modifying
+    @Query(value = "update games set rating_avg = "
+            + "(select r.rating_sum * 1.0 / r.review_count from game_ratings r where r.game_id = :id), "
+            + "version = version + 1, updated_at = :now "
+            + "where id = :id", nativeQuery = true)
+    int refreshRatingAvg(@Param("id") Long id, @Param("now") Instant now);
+
+    interface SearchRow {
+        Long getId();
+
+        Double getScore();
+    }
+
+    interface GameTitle {
+        Long getId();
+
+        String getTitle();
+
+        Double getRatingAvg();
+
+        Long getReviewCount();
+    }
+
+    interface GameText {
+        Long getId();
+
+        String getDescription();
+
+        String getGenre();
+
+        String getSubscriptionTier();
+    }
+
+    interface GameTier {
+        Long getId();
+
+        String getSubscriptionTier();
+    }
 }
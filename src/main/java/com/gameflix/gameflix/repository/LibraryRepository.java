@@ -1,16 +1,73 @@
 package com.gameflix.gameflix.repository;
 
 import com.gameflix.gameflix.model.LibraryEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface LibraryRepository extends JpaRepository<LibraryEntry, Long> {
+public interface LibraryRepository extends JpaRepository<LibraryEntry, Long>, LibraryRepositoryCustom {
 
     List<LibraryEntry> findByUsername(String username);
 
-    Optional<LibraryEntry> findByUsernameAndGameId(String username, Long gameId);
+    boolean existsByUsernameAndGameId(String username, Long gameId);
+
+    // Idempotent against uk_library_user_game; any other error (unknown game, bad data) still fails.
+    // Connector/J reports found rather than changed rows, so the count is 1 either way: on a duplicate
+    // the update leaves id as it is and sets LAST_INSERT_ID() to 0, which insertedId() then returns.
+    @Modifying
+    @Query(value = "insert into library_entries (username, game_id, added_at) "
+            + "values (:username, :gameId, :addedAt) "
+            + "on duplicate key update id = id + last_insert_id(0)", nativeQuery = true)
+    int insertIfAbsent(@Param("username") String username,
+                       @Param("gameId") Long gameId,
+                       @Param("addedAt") LocalDateTime addedAt);
+
+    // Id of the row insertIfAbsent just inserted on this connection, or 0 when it already existed.
+    @Query(value = "select last_insert_id()", nativeQuery = true)
+    long insertedId();
+
+    @Query(value = "select "
+            + "(select count(*) from library_entries e where e.username = :username and e.game_id = :gameId) as inLibrary, "
+            + "(select count(*) from reviews r where r.username = :username and r.game_id = :gameId) as reviewed",
+            nativeQuery = true)
+    ViewerFlags findViewerFlags(@Param("username") String username, @Param("gameId") Long gameId);
+
+    // Each user's games adjacent and newest first, as findRecentGameIds returns them: one backward
+    // scan of idx_library_user_added_game, which covers the query.
+    // Integer.MIN_VALUE makes Connector/J stream rows one at a time instead of buffering the result.
+    // Must be consumed inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "select username, game_id as gameId from library_entries "
+            + "order by username desc, added_at desc, id desc",
+            nativeQuery = true)
+    Stream<LibraryPair> streamPairs();
+
+    @Query(value = "select game_id from library_entries where username = :username "
+            + "order by added_at desc, id desc limit :limit", nativeQuery = true)
+    List<Long> findRecentGameIds(@Param("username") String username, @Param("limit") int limit);
+
+    interface LibraryPair {
+        String getUsername();
+
+        Long getGameId();
+    }
+
+    interface ViewerFlags {
+        long getInLibrary();
+
+        long getReviewed();
+    }
 }
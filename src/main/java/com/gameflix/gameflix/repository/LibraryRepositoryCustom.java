@@ -0,0 +1,17 @@
+package com.gameflix.gameflix.repository;
+
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.LibraryItem;
+
+import java.util.List;
+
+public interface LibraryRepositoryCustom {
+
+    /**
+     * One page of a user's library joined with its games. Null genre/tier mean
+     * no filter; sort is {@link GameSort#NEWEST} (recently added) or {@link GameSort#TITLE}.
+     */
+    List<LibraryItem> findItems(String username, String genre, String tier,
+                                GameSort sort, GameCursor after, int limit);
+}
@@ -0,0 +1,57 @@
+package com.gameflix.gameflix.repository;
+
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.LibraryItem;
+import com.gameflix.gameflix.model.PlanTier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class LibraryRepositoryImpl implements LibraryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LibraryItem> findItems(String username, String genre, String tier,
+                                       GameSort sort, GameCursor after, int limit) {
+        boolean byTitle = sort == GameSort.TITLE;
+        StringBuilder jpql = new StringBuilder("select new com.gameflix.gameflix.model.LibraryItem(")
+                .append("e.id, g.id, g.title, g.genre, g.coverUrl, g.subscriptionTier, e.addedAt) ")
+                .append("from LibraryEntry e join e.game g where e.username = :username");
+        if (genre != null) {
+            jpql.append(" and lower(g.genre) = lower(:genre)");
+        }
+        List<String> tierAliases = tier != null ? PlanTier.aliases(tier) : null;
+        if (tierAliases != null) {
+            jpql.append(PlanTier.FREE.equals(PlanTier.normalize(tier))
+                    ? " and (g.subscriptionTier is null or lower(trim(g.subscriptionTier)) in :tiers)"
+                    : " and lower(trim(g.subscriptionTier)) in :tiers");
+        }
+        if (after != null) {
+            jpql.append(byTitle
+                    ? " and (g.title > :key or (g.title = :key and e.id > :id))"
+                    : " and (e.addedAt < :key or (e.addedAt = :key and e.id < :id))");
+        }
+        jpql.append(byTitle ? " order by g.title asc, e.id asc" : " order by e.addedAt desc, e.id desc");
+
+        TypedQuery<LibraryItem> query = entityManager.createQuery(jpql.toString(), LibraryItem.class)
+                .setParameter("username", username)
+                .setMaxResults(limit);
+        if (genre != null) {
+            query.setParameter("genre", genre);
+        }
+        if (tierAliases != null) {
+            query.setParameter("tiers", tierAliases.isEmpty() ? List.of("") : tierAliases);
+        }
+        if (after != null) {
+            query.setParameter("key", byTitle ? after.key() : LocalDateTime.parse(after.key()));
+            query.setParameter("id", after.id());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,33 @@
+package com.gameflix.gameflix.repository;
+
+import com.gameflix.gameflix.model.ReviewLogCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReviewLogCheckpointRepository extends JpaRepository<ReviewLogCheckpoint, String> {
+
+    // greatest() keeps the checkpoint from moving back if batches ever commit out of order.
+    @Modifying
+    @Query(value = "insert into review_log_checkpoints (log_id, drained_seq) values (:logId, :seq) "
+            + "on duplicate key update drained_seq = greatest(drained_seq, :seq)",
+            nativeQuery = true)
+    int advance(@Param("logId") String logId, @Param("seq") long seq);
+
+    // Idempotent, so a quarantine retried after a failed commit does not fail on its own row.
+    @Modifying
+    @Query(value = "insert into review_log_quarantine "
+            + "(log_id, seq, game_id, username, rating, comment, created_at, error, quarantined_at) "
+            + "values (:logId, :seq, :gameId, :username, :rating, :comment, :createdAt, :error, :now) "
+            + "on duplicate key update error = values(error)",
+            nativeQuery = true)
+    int quarantine(@Param("logId") String logId, @Param("seq") long seq, @Param("gameId") long gameId,
+                   @Param("username") String username, @Param("rating") int rating,
+                   @Param("comment") String comment, @Param("createdAt") LocalDateTime createdAt,
+                   @Param("error") String error, @Param("now") LocalDateTime now);
+}
@@ -1,16 +1,54 @@
 package com.gameflix.gameflix.repository;
 
 import com.gameflix.gameflix.model.Review;
+import com.gameflix.gameflix.model.ReviewView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findByGameIdOrderByCreatedAtDesc(Long gameId);
+    String VIEW = "select new com.gameflix.gameflix.model.ReviewView("
+            + "r.id, g.id, g.title, r.username, r.rating, r.comment, r.createdAt) "
+            + "from Review r join r.game g ";
 
     Optional<Review> findByGameIdAndUsername(Long gameId, String username);
+
+    // Superset of the (game, user) pairs asked for; callers match exact pairs.
+    @Query("select r.game.id as gameId, r.username as username from Review r "
+            + "where r.game.id in :gameIds and r.username in :usernames")
+    List<ReviewKey> findKeys(@Param("gameIds") Collection<Long> gameIds,
+                             @Param("usernames") Collection<String> usernames);
+
+    @Query(VIEW + "order by r.createdAt desc, r.id desc")
+    List<ReviewView> findViews(Limit limit);
+
+    @Query(VIEW + "where r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id) "
+            + "order by r.createdAt desc, r.id desc")
+    List<ReviewView> findViewsBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(VIEW + "where g.id = :gameId order by r.createdAt desc, r.id desc")
+    List<ReviewView> findViewsForGame(@Param("gameId") Long gameId, Limit limit);
+
+    @Query(VIEW + "where g.id = :gameId and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) "
+            + "order by r.createdAt desc, r.id desc")
+    List<ReviewView> findViewsForGameBefore(@Param("gameId") Long gameId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    interface ReviewKey {
+        Long getGameId();
+
+        String getUsername();
+    }
 }
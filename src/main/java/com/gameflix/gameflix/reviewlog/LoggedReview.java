@@ -0,0 +1,8 @@
+package com.gameflix.gameflix.reviewlog;
+
+import java.time.LocalDateTime;
+
+/** A review accepted into the {@link ReviewLog}; seq is assigned in append order, starting at 1. */
+public record LoggedReview(long seq, long gameId, String username, int rating, String comment,
+                           LocalDateTime createdAt) {
+}
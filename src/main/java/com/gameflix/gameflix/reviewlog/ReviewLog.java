@@ -0,0 +1,410 @@
+package com.gameflix.gameflix.reviewlog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of accepted reviews in segment files on local disk. One
+ * writer thread takes every append queued since its last pass, writes them
+ * with one call and syncs them with one fsync (group commit), so concurrent
+ * posters share the cost of a sync. Frames are length and CRC32C prefixed;
+ * a frame torn by a crash is cut off when the log is opened. A segment is
+ * named after its first sequence number and deleted once fully drained.
+ */
+public class ReviewLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewLog.class);
+
+    // Most reviews written and synced in one pass; bounds the write buffer.
+    static final int MAX_GROUP = 1_024;
+    static final int MAX_FRAME = 64 * 1024;
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "reviews-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ID_FILE = "log-id";
+    private static final Pending STOP = new Pending(null, null, null);
+
+    private record Pending(LoggedReview review, byte[] payload, CompletableFuture<LoggedReview> done) {
+    }
+
+    private record Segment(Path path, long lastSeq) {
+    }
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final String id;
+    // Segments before the one being written, oldest first.
+    private final Deque<Segment> sealed = new ConcurrentLinkedDeque<>();
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private Thread writer;
+    private volatile IOException failure;
+
+    // Owned by the writer thread once started.
+    private long nextSeq;
+    private FileChannel channel;
+    private Path channelPath;
+
+    private ReviewLog(Path dir, long segmentBytes, String id) {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.id = id;
+    }
+
+    /** Opens the log in dir, creating it if needed, and starts a fresh segment for new appends. */
+    public static ReviewLog open(Path dir, long segmentBytes) throws IOException {
+        Files.createDirectories(dir);
+        Path idFile = dir.resolve(ID_FILE);
+        if (!Files.exists(idFile)) {
+            Path tmp = dir.resolve(ID_FILE + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ch.write(ByteBuffer.wrap(UUID.randomUUID().toString().getBytes(StandardCharsets.US_ASCII)));
+                ch.force(true);
+            }
+            Files.move(tmp, idFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+        ReviewLog reviewLog = new ReviewLog(dir, segmentBytes, Files.readString(idFile).trim());
+        reviewLog.recover();
+        return reviewLog;
+    }
+
+    /** Random id created with the log; a new directory is a new log whose numbering restarts. */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * Hands the consumer every logged review after afterSeq, in order. Call
+     * before {@link #start}.
+     */
+    public void replay(long afterSeq, Consumer<LoggedReview> consumer) throws IOException {
+        for (Segment segment : sealed) {
+            if (segment.lastSeq() > afterSeq) {
+                read(segment.path(), r -> {
+                    if (r.seq() > afterSeq) {
+                        consumer.accept(r);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Starts the writer. onDurable receives each synced group in sequence
+     * order, on the writer thread, before the appends are completed.
+     */
+    public synchronized void start(Consumer<List<LoggedReview>> onDurable) {
+        if (writer == null) {
+            writer = Thread.ofPlatform().name("review-log-writer").daemon(true).start(() -> run(onDurable));
+        }
+    }
+
+    /** Completes with the review and its sequence number once it is synced to disk. */
+    public CompletableFuture<LoggedReview> append(long gameId, String username, int rating, String comment,
+                                                  LocalDateTime createdAt) {
+        LoggedReview review = new LoggedReview(0, gameId, username, rating, comment, createdAt);
+        byte[] payload = encode(review);
+        if (payload.length > MAX_FRAME) {
+            throw new IllegalArgumentException("Review is too large to log");
+        }
+        CompletableFuture<LoggedReview> done = new CompletableFuture<>();
+        if (closed.get()) {
+            done.completeExceptionally(new IllegalStateException("Review log is closed"));
+        } else {
+            queue.add(new Pending(review, payload, done));
+        }
+        return done;
+    }
+
+    /** Deletes the segments holding nothing after drainedSeq. The segment being written is kept. */
+    public void release(long drainedSeq) {
+        Segment head;
+        while ((head = sealed.peekFirst()) != null && head.lastSeq() <= drainedSeq) {
+            try {
+                Files.deleteIfExists(head.path());
+            } catch (IOException e) {
+                log.warn("Could not delete drained review log segment {}", head.path(), e);
+                return;
+            }
+            sealed.pollFirst();
+        }
+    }
+
+    int segmentCount() {
+        return sealed.size() + 1;
+    }
+
+    /** Syncs what was queued before the call, then fails any append that raced it. */
+    @Override
+    public void close() throws IOException {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        Thread w;
+        synchronized (this) {
+            w = writer;
+        }
+        if (w != null) {
+            queue.add(STOP);
+            try {
+                w.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.removeIf(p -> p == STOP);
+        fail(left, new IllegalStateException("Review log is closed"));
+        channel.close();
+    }
+
+    private void recover() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        long lastSeq = 0;
+        List<Path> empty = new ArrayList<>();
+        for (Path path : segments) {
+            // An empty segment still proves its first number was handed out, so numbering never goes back.
+            lastSeq = Math.max(lastSeq, firstSeq(path) - 1);
+            long[] last = {0};
+            long end = read(path, r -> last[0] = r.seq());
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                if (ch.size() > end) {
+                    log.warn("Cutting {} bytes of torn review log frames from {}", ch.size() - end, path);
+                    ch.truncate(end);
+                    ch.force(true);
+                }
+            }
+            if (last[0] == 0) {
+                empty.add(path);
+            } else {
+                sealed.add(new Segment(path, last[0]));
+                lastSeq = Math.max(lastSeq, last[0]);
+            }
+        }
+        nextSeq = lastSeq + 1;
+        openSegment();
+        for (Path path : empty) {
+            if (!path.equals(channelPath)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private void run(Consumer<List<LoggedReview>> onDurable) {
+        List<Pending> group = new ArrayList<>(MAX_GROUP);
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            queue.drainTo(group, MAX_GROUP - 1);
+            stopping = group.removeIf(p -> p == STOP);
+            if (!group.isEmpty()) {
+                commit(group, onDurable);
+            }
+            group.clear();
+        }
+    }
+
+    private void commit(List<Pending> group, Consumer<List<LoggedReview>> onDurable) {
+        if (failure != null) {
+            fail(group, failure);
+            return;
+        }
+        long firstSeq = nextSeq;
+        long start = -1;
+        List<LoggedReview> durable = new ArrayList<>(group.size());
+        try {
+            if (channel.position() >= segmentBytes) {
+                roll();
+            }
+            start = channel.position();
+            int bytes = 0;
+            for (Pending p : group) {
+                bytes += HEADER_BYTES + p.payload().length;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(bytes);
+            CRC32C crc = new CRC32C();
+            for (Pending p : group) {
+                long seq = nextSeq++;
+                ByteBuffer.wrap(p.payload()).putLong(0, seq);
+                crc.reset();
+                crc.update(p.payload());
+                buffer.putInt(p.payload().length).putInt((int) crc.getValue()).put(p.payload());
+                LoggedReview r = p.review();
+                durable.add(new LoggedReview(seq, r.gameId(), r.username(), r.rating(), r.comment(), r.createdAt()));
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            nextSeq = firstSeq;
+            undo(start, e);
+            fail(group, e);
+            return;
+        }
+        try {
+            onDurable.accept(durable);
+        } catch (RuntimeException e) {
+            log.error("Review log consumer failed; reviews {}..{} stay logged until the next start",
+                    firstSeq, nextSeq - 1, e);
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).done().complete(durable.get(i));
+        }
+    }
+
+    // A partly written group must not stay in front of later frames, or a replay stops short of them.
+    private void undo(long start, IOException cause) {
+        log.warn("Writing to the review log failed", cause);
+        try {
+            if (start < 0) {
+                throw cause;
+            }
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            log.error("Review log {} is unusable until restart", dir, e);
+            failure = e;
+        }
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        sealed.add(new Segment(channelPath, nextSeq - 1));
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        channelPath = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSeq, SEGMENT_SUFFIX));
+        channel = FileChannel.open(channelPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        // Make the new file's name durable too; it carries the next sequence number across restarts.
+        try (FileChannel d = FileChannel.open(dir, StandardOpenOption.READ)) {
+            d.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync review log directory {}", dir, e);
+        }
+    }
+
+    private static void fail(List<Pending> group, Throwable cause) {
+        for (Pending p : group) {
+            p.done().completeExceptionally(cause);
+        }
+    }
+
+    /** Reads frames up to the end or the first torn one; returns the length of the intact prefix. */
+    private static long read(Path path, Consumer<LoggedReview> consumer) throws IOException {
+        long offset = 0;
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (true) {
+                int length;
+                int checksum;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > MAX_FRAME) {
+                        return offset;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return offset;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return offset;
+                }
+                consumer.accept(decode(payload));
+                offset += HEADER_BYTES + length;
+            }
+        }
+    }
+
+    private static long firstSeq(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // createdAt is a LocalDateTime; UTC here only fixes how it is written, not its zone.
+    private static byte[] encode(LoggedReview r) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + r.username().length() + r.comment().length());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(r.seq());
+            out.writeLong(r.gameId());
+            out.writeInt(r.rating());
+            out.writeLong(r.createdAt().toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(r.createdAt().getNano());
+            out.writeUTF(r.username());
+            out.writeUTF(r.comment());
+        } catch (UTFDataFormatException e) {
+            throw new IllegalArgumentException("Review is too large to log", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static LoggedReview decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        long seq = in.readLong();
+        long gameId = in.readLong();
+        int rating = in.readInt();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        String username = in.readUTF();
+        String comment = in.readUTF();
+        return new LoggedReview(seq, gameId, username, rating, comment, createdAt);
+    }
+}
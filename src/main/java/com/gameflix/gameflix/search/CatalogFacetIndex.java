@@ -0,0 +1,381 @@
+package com.gameflix.gameflix.search;
+
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.PlanTier;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap facet index over genre, plan tier and rating band. Games get a dense
+ * ordinal so each facet value is a BitSet; filters are bitmap intersections
+ * and counts are disjunctive (each facet is counted with every other filter
+ * applied, but not its own). Results are paged with keyset cursors over a
+ * per-sort ordinal permutation that is rebuilt lazily after writes.
+ */
+public class CatalogFacetIndex {
+
+    public static final String UNRATED = "Unrated";
+    static final int MAX_BAND = 4;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String[]> values = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private final List<Double> ratings = new ArrayList<>();
+    private final Map<GameSort, int[]> orders = new ConcurrentHashMap<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<String, BitSet> genres = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, BitSet> tiers = new HashMap<>();
+    private final Map<String, BitSet> bands = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Long id, String title, String genre, String subscriptionTier, Double ratingAvg) {
+        String genreKey = genre == null || genre.isBlank() ? null : genre.trim();
+        String tierKey = PlanTier.normalize(subscriptionTier);
+        if (tierKey == null) {
+            tierKey = PlanTier.FREE;
+        }
+        String bandKey = band(ratingAvg);
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(id, ordinal);
+                ids.add(id);
+                values.add(new String[3]);
+                titles.add(title);
+                ratings.add(ratingAvg);
+            } else {
+                clearBits(ordinal);
+                titles.set(ordinal, title);
+                ratings.set(ordinal, ratingAvg);
+            }
+            orders.clear();
+            String[] current = values.get(ordinal);
+            current[0] = genreKey;
+            current[1] = tierKey;
+            current[2] = bandKey;
+            if (genreKey != null) {
+                genres.computeIfAbsent(genreKey, k -> new BitSet()).set(ordinal);
+            }
+            tiers.computeIfAbsent(tierKey, k -> new BitSet()).set(ordinal);
+            bands.computeIfAbsent(bandKey, k -> new BitSet()).set(ordinal);
+            live.set(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateRating(Long id, Double ratingAvg) {
+        String bandKey = band(ratingAvg);
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal == null || !live.get(ordinal)) {
+                return;
+            }
+            String[] current = values.get(ordinal);
+            clearBit(bands, current[2], ordinal);
+            current[2] = bandKey;
+            bands.computeIfAbsent(bandKey, k -> new BitSet()).set(ordinal);
+            ratings.set(ordinal, ratingAvg);
+            orders.remove(GameSort.RATING);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && live.get(ordinal)) {
+                clearBits(ordinal);
+                live.clear(ordinal);
+                orders.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            ids.clear();
+            values.clear();
+            titles.clear();
+            ratings.clear();
+            orders.clear();
+            live.clear();
+            genres.clear();
+            tiers.clear();
+            bands.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FacetResult query(FacetQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet universe = candidates(query.candidates());
+            BitSet genreFilter = genreFilter(query.genre());
+            BitSet tierFilter = tierFilter(query.tier());
+            BitSet ratingFilter = ratingFilter(query.minRating());
+
+            BitSet matches = and(universe, genreFilter, tierFilter, ratingFilter);
+            int total = matches.cardinality();
+            int limit = Math.max(1, query.limit());
+            List<Long> gameIds = new ArrayList<>(Math.min(total, limit));
+            GameCursor next = null;
+            GameSort sort = query.sort() == GameSort.RELEVANCE && query.candidates() == null
+                    ? GameSort.TITLE
+                    : query.sort();
+
+            if (sort == GameSort.RELEVANCE) {
+                List<Long> candidates = query.candidates();
+                int start = 0;
+                if (query.after() != null) {
+                    start = candidates.indexOf(query.after().id()) + 1;
+                }
+                for (int i = start; i < candidates.size(); i++) {
+                    Integer ordinal = ordinals.get(candidates.get(i));
+                    if (ordinal == null || !matches.get(ordinal)) {
+                        continue;
+                    }
+                    if (gameIds.size() == limit) {
+                        next = cursor(sort, ordinals.get(gameIds.get(gameIds.size() - 1)));
+                        break;
+                    }
+                    gameIds.add(candidates.get(i));
+                }
+            } else {
+                int[] order = orders.computeIfAbsent(sort, this::buildOrder);
+                int lastOrdinal = -1;
+                for (int i = firstAfter(order, sort, query.after()); i < order.length; i++) {
+                    int ordinal = order[i];
+                    if (!matches.get(ordinal)) {
+                        continue;
+                    }
+                    if (gameIds.size() == limit) {
+                        next = cursor(sort, lastOrdinal);
+                        break;
+                    }
+                    gameIds.add(ids.get(ordinal));
+                    lastOrdinal = ordinal;
+                }
+            }
+
+            return new FacetResult(
+                    gameIds,
+                    total,
+                    next,
+                    counts(genres, and(universe, tierFilter, ratingFilter)),
+                    tierCounts(and(universe, genreFilter, ratingFilter)),
+                    ratingCounts(and(universe, genreFilter, tierFilter)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String band(Double ratingAvg) {
+        if (ratingAvg == null || ratingAvg < 1) {
+            return UNRATED;
+        }
+        return Integer.toString(Math.min(MAX_BAND, (int) Math.floor(ratingAvg)));
+    }
+
+    private int[] buildOrder(GameSort sort) {
+        List<Integer> sorted = new ArrayList<>(live.cardinality());
+        for (int i = live.nextSetBit(0); i >= 0; i = live.nextSetBit(i + 1)) {
+            sorted.add(i);
+        }
+        sorted.sort((a, b) -> compare(sort, titles.get(a), ratings.get(a), ids.get(a),
+                titles.get(b), ratings.get(b), ids.get(b)));
+        return sorted.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int firstAfter(int[] order, GameSort sort, GameCursor after) {
+        if (after == null) {
+            return 0;
+        }
+        Double rating = sort == GameSort.RATING ? after.ratingKey() : null;
+        int lo = 0;
+        int hi = order.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int o = order[mid];
+            if (compare(sort, titles.get(o), ratings.get(o), ids.get(o), after.key(), rating, after.id()) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private GameCursor cursor(GameSort sort, int ordinal) {
+        String key = switch (sort) {
+            case TITLE -> titles.get(ordinal);
+            case RATING -> ratings.get(ordinal) != null ? ratings.get(ordinal).toString() : null;
+            default -> null;
+        };
+        return new GameCursor(sort, key, ids.get(ordinal));
+    }
+
+    static int compare(GameSort sort, String titleA, Double ratingA, long idA,
+                       String titleB, Double ratingB, long idB) {
+        switch (sort) {
+            case TITLE: {
+                int c = String.CASE_INSENSITIVE_ORDER.compare(titleA != null ? titleA : "", titleB != null ? titleB : "");
+                return c != 0 ? c : Long.compare(idA, idB);
+            }
+            case RATING: {
+                if (ratingA == null || ratingB == null) {
+                    if (ratingA != ratingB) {
+                        return ratingA == null ? 1 : -1;
+                    }
+                } else {
+                    int c = Double.compare(ratingB, ratingA);
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return Long.compare(idB, idA);
+            }
+            default:
+                return Long.compare(idB, idA);
+        }
+    }
+
+    private BitSet candidates(Collection<Long> candidates) {
+        if (candidates == null) {
+            return live;
+        }
+        BitSet bits = new BitSet(ids.size());
+        for (Long id : candidates) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && live.get(ordinal)) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private BitSet genreFilter(String genre) {
+        if (genre == null || genre.isBlank()) {
+            return null;
+        }
+        BitSet bits = genres.get(genre.trim());
+        return bits != null ? bits : new BitSet();
+    }
+
+    private BitSet tierFilter(String tier) {
+        if (tier == null || tier.isBlank()) {
+            return null;
+        }
+        String normalized = PlanTier.normalize(tier);
+        BitSet bits = normalized != null ? tiers.get(normalized) : null;
+        return bits != null ? bits : new BitSet();
+    }
+
+    private BitSet ratingFilter(Integer minRating) {
+        if (minRating == null || minRating <= 1) {
+            return null;
+        }
+        BitSet bits = new BitSet();
+        for (int b = Math.min(minRating, MAX_BAND); b <= MAX_BAND; b++) {
+            BitSet band = bands.get(Integer.toString(b));
+            if (band != null) {
+                bits.or(band);
+            }
+        }
+        return bits;
+    }
+
+    private static BitSet and(BitSet base, BitSet... filters) {
+        BitSet result = (BitSet) base.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static List<FacetCount> counts(Map<String, BitSet> facet, BitSet scope) {
+        List<FacetCount> counts = new ArrayList<>(facet.size());
+        for (Map.Entry<String, BitSet> e : facet.entrySet()) {
+            int count = intersectionSize(e.getValue(), scope);
+            if (count > 0) {
+                counts.add(new FacetCount(e.getKey(), count));
+            }
+        }
+        return counts;
+    }
+
+    private List<FacetCount> tierCounts(BitSet scope) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (PlanTier.PlanDescriptor d : PlanTier.descriptors()) {
+            BitSet bits = tiers.get(d.key());
+            counts.add(new FacetCount(d.key(), bits != null ? intersectionSize(bits, scope) : 0));
+        }
+        return counts;
+    }
+
+    private List<FacetCount> ratingCounts(BitSet scope) {
+        List<FacetCount> counts = new ArrayList<>();
+        int cumulative = 0;
+        for (int b = MAX_BAND; b >= 1; b--) {
+            BitSet bits = bands.get(Integer.toString(b));
+            if (bits != null) {
+                cumulative += intersectionSize(bits, scope);
+            }
+            counts.add(new FacetCount(Integer.toString(b), cumulative));
+        }
+        BitSet unrated = bands.get(UNRATED);
+        counts.add(new FacetCount(UNRATED, unrated != null ? intersectionSize(unrated, scope) : 0));
+        return counts;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet tmp = (BitSet) a.clone();
+        tmp.and(b);
+        return tmp.cardinality();
+    }
+
+    private void clearBits(int ordinal) {
+        String[] current = values.get(ordinal);
+        clearBit(genres, current[0], ordinal);
+        clearBit(tiers, current[1], ordinal);
+        clearBit(bands, current[2], ordinal);
+    }
+
+    private static void clearBit(Map<String, BitSet> facet, String key, int ordinal) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = facet.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                facet.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.gameflix.gameflix.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over game title, genre and description. Every query token is
+ * matched as a term prefix and all tokens must match (AND); hits are ranked by
+ * field-weighted tf-idf so title matches outrank description matches.
+ */
+public class CatalogSearchIndex {
+
+    static final float TITLE_WEIGHT = 3f;
+    static final float GENRE_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final double PREFIX_PENALTY = 0.8;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(Long id, String title, String genre, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        accumulate(weights, title, TITLE_WEIGHT);
+        accumulate(weights, genre, GENRE_WEIGHT);
+        accumulate(weights, description, DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            for (Map.Entry<String, Float> e : weights.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(id, e.getValue());
+            }
+            documentTerms.put(id, new HashSet<>(weights.keySet()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documentTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = documentTerms.size();
+            Map<Long, Double> scores = null;
+            for (String token : new HashSet<>(tokens)) {
+                Map<Long, Double> tokenScores = scoreToken(token, docCount);
+                if (tokenScores.isEmpty()) {
+                    return List.of();
+                }
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores = intersect(scores, tokenScores);
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                hits.add(new SearchHit(e.getKey(), e.getValue()));
+            }
+            hits.sort((a, b) -> {
+                int byScore = Double.compare(b.score(), a.score());
+                return byScore != 0 ? byScore : Long.compare(a.gameId(), b.gameId());
+            });
+            return hits.size() > limit ? hits.subList(0, limit) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private Map<Long, Double> scoreToken(String token, int docCount) {
+        Map<String, Map<Long, Float>> matches = postings.subMap(token, true, token + Character.MAX_VALUE, false);
+        if (matches.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Double> best = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> term : matches.entrySet()) {
+            Map<Long, Float> docs = term.getValue();
+            double idf = Math.log(1.0 + (double) docCount / docs.size());
+            double exactness = term.getKey().length() == token.length() ? 1.0 : PREFIX_PENALTY;
+            for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                double score = (1.0 + Math.log(doc.getValue())) * idf * exactness;
+                best.merge(doc.getKey(), score, Math::max);
+            }
+        }
+        return best;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        for (Map.Entry<Long, Double> e : smaller.entrySet()) {
+            Double other = larger.get(e.getKey());
+            if (other != null) {
+                result.put(e.getKey(), e.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    private void removeUnlocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void accumulate(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, fieldWeight, Float::sum);
+        }
+    }
+}
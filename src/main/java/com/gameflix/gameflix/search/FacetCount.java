@@ -0,0 +1,4 @@
+package com.gameflix.gameflix.search;
+
+public record FacetCount(String value, int count) {
+}
@@ -0,0 +1,25 @@
+package com.gameflix.gameflix.search;
+
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+
+import java.util.List;
+
+/**
+ * Facet filters and paging for a catalog view. Null filters are unconstrained;
+ * when {@code candidates} is set (e.g. ranked search hits) the
+ * {@link GameSort#RELEVANCE} sort keeps that order.
+ */
+public record FacetQuery(String genre,
+                         String tier,
+                         Integer minRating,
+                         List<Long> candidates,
+                         GameSort sort,
+                         GameCursor after,
+                         int limit) {
+
+    public FacetQuery(String genre, String tier, Integer minRating, List<Long> candidates) {
+        this(genre, tier, minRating, candidates,
+                candidates != null ? GameSort.RELEVANCE : GameSort.TITLE, null, Integer.MAX_VALUE);
+    }
+}
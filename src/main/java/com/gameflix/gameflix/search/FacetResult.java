@@ -0,0 +1,13 @@
+package com.gameflix.gameflix.search;
+
+import com.gameflix.gameflix.model.GameCursor;
+
+import java.util.List;
+
+public record FacetResult(List<Long> gameIds,
+                          int total,
+                          GameCursor next,
+                          List<FacetCount> genres,
+                          List<FacetCount> tiers,
+                          List<FacetCount> ratings) {
+}
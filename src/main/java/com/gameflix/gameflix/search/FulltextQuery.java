@@ -0,0 +1,36 @@
+package com.gameflix.gameflix.search;
+
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Turns a catalog query into a MySQL boolean-mode FULLTEXT expression with the
+ * same semantics as {@link CatalogSearchIndex}: every token must match, as a
+ * prefix. InnoDB drops stopwords and tokens shorter than
+ * innodb_ft_min_token_size from the index, and a required (+) token it cannot
+ * find empties the whole result, so those tokens are left out of the query.
+ */
+public final class FulltextQuery {
+
+    // InnoDB's default stopword list (information_schema.INNODB_FT_DEFAULT_STOPWORD).
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "about", "an", "are", "as", "at", "be", "by", "com", "de", "en", "for", "from", "how", "i",
+            "in", "is", "it", "la", "of", "on", "or", "that", "the", "this", "to", "was", "what", "when",
+            "where", "who", "will", "with", "und", "www");
+
+    private FulltextQuery() {
+    }
+
+    /** Boolean-mode expression such as {@code +neon* +knight*}, or null when no token is searchable. */
+    public static String of(String query, int minTokenSize) {
+        StringJoiner expression = new StringJoiner(" ");
+        boolean any = false;
+        for (String token : CatalogSearchIndex.tokenize(query)) {
+            if (token.length() >= minTokenSize && !STOPWORDS.contains(token)) {
+                expression.add("+" + token + "*");
+                any = true;
+            }
+        }
+        return any ? expression.toString() : null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.gameflix.gameflix.search;
+
+import java.util.List;
+
+/** Full-text search over the catalog; hits come back best first. */
+public interface SearchBackend {
+
+    List<SearchHit> search(String query, int limit);
+}
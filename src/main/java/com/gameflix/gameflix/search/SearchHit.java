@@ -0,0 +1,4 @@
+package com.gameflix.gameflix.search;
+
+public record SearchHit(Long gameId, double score) {
+}
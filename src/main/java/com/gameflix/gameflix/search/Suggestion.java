@@ -0,0 +1,4 @@
+package com.gameflix.gameflix.search;
+
+public record Suggestion(Long id, String title, Double ratingAvg, long reviewCount) {
+}
@@ -0,0 +1,326 @@
+package com.gameflix.gameflix.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Title autocomplete. Every word start of every title becomes a lowercase key
+ * in one sorted array, so a prefix is a binary-searched range of it (a flat
+ * trie). Prefixes of up to {@link #PRECOMPUTED_PREFIX} characters, whose ranges
+ * cover much of the catalog, have their top {@link #MAX_SUGGESTIONS} games
+ * computed at build time; longer prefixes get theirs cached on first use, up to
+ * {@link #MAX_CACHED_PREFIXES} per snapshot. A rating change keeps the keys, so
+ * it re-ranks only the cached prefixes of that title in the current snapshot.
+ * New or renamed titles mark the snapshot stale; the next lookup rebuilds it
+ * while concurrent lookups keep reading the previous one.
+ */
+public class TitleSuggestIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int PRECOMPUTED_PREFIX = 3;
+    static final int MAX_CACHED_PREFIXES = 50_000;
+
+    // Most reviewed first, then best rated, then alphabetical.
+    static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong(Suggestion::reviewCount).reversed()
+            .thenComparing(Suggestion::ratingAvg, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Suggestion::title, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Suggestion::id);
+
+    private final Map<Long, Suggestion> games = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.build(List.of());
+    private volatile boolean stale;
+    // Games re-rated while a rebuild runs, replayed onto the new snapshot; null when none runs.
+    private Set<Long> changedDuringRebuild;
+
+    public void index(Long id, String title, Double ratingAvg) {
+        writeLock.lock();
+        try {
+            Suggestion current = games.get(id);
+            long reviewCount = current != null ? current.reviewCount() : 0;
+            games.put(id, new Suggestion(id, title, ratingAvg, reviewCount));
+            stale = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void index(Long id, String title, Double ratingAvg, long reviewCount) {
+        writeLock.lock();
+        try {
+            games.put(id, new Suggestion(id, title, ratingAvg, reviewCount));
+            stale = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void updateRating(Long id, Double ratingAvg, long reviewCount) {
+        writeLock.lock();
+        try {
+            Suggestion current = games.get(id);
+            if (current != null) {
+                Suggestion updated = new Suggestion(id, current.title(), ratingAvg, reviewCount);
+                games.put(id, updated);
+                snapshot.update(updated);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(id);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            games.clear();
+            stale = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || limit <= 0) {
+            return List.of();
+        }
+        String key = prefix.strip().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Suggestion[] top = current().top(key);
+        int n = Math.min(Math.min(limit, MAX_SUGGESTIONS), top.length);
+        return Arrays.asList(top).subList(0, n);
+    }
+
+    private Snapshot current() {
+        // One caller rebuilds; the others answer from the previous snapshot meanwhile.
+        if (stale && rebuildLock.tryLock()) {
+            try {
+                if (stale) {
+                    List<Suggestion> copy;
+                    writeLock.lock();
+                    try {
+                        stale = false;
+                        copy = new ArrayList<>(games.values());
+                        changedDuringRebuild = new HashSet<>();
+                    } finally {
+                        writeLock.unlock();
+                    }
+                    Snapshot built = Snapshot.build(copy);
+                    writeLock.lock();
+                    try {
+                        for (Long id : changedDuringRebuild) {
+                            built.update(games.get(id));
+                        }
+                        changedDuringRebuild = null;
+                        snapshot = built;
+                    } finally {
+                        writeLock.unlock();
+                    }
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+
+        private static final Suggestion[] NONE = new Suggestion[0];
+
+        private final String[] keys;
+        // Slot in games of the game each key belongs to; a rating change replaces the game in its slot.
+        private final int[] owners;
+        private final AtomicReferenceArray<Suggestion> games;
+        private final Map<Long, Integer> slots;
+        private final Map<String, Suggestion[]> tops = new ConcurrentHashMap<>();
+
+        private Snapshot(String[] keys, int[] owners, AtomicReferenceArray<Suggestion> games, Map<Long, Integer> slots) {
+            this.keys = keys;
+            this.owners = owners;
+            this.games = games;
+            this.slots = slots;
+        }
+
+        static Snapshot build(List<Suggestion> games) {
+            List<Suggestion> titled = games.stream().filter(s -> s.title() != null).toList();
+            Map<Long, Integer> slots = new HashMap<>();
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+            for (int slot = 0; slot < titled.size(); slot++) {
+                Suggestion s = titled.get(slot);
+                slots.put(s.id(), slot);
+                for (String key : wordStarts(s.title())) {
+                    entries.add(Map.entry(key, slot));
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+            String[] keys = new String[entries.size()];
+            int[] owners = new int[entries.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = entries.get(i).getKey();
+                owners[i] = entries.get(i).getValue();
+            }
+            Snapshot snapshot = new Snapshot(keys, owners,
+                    new AtomicReferenceArray<>(titled.toArray(new Suggestion[0])), slots);
+            snapshot.precompute();
+            return snapshot;
+        }
+
+        // Lowercase title suffixes starting at each word.
+        private static List<String> wordStarts(String title) {
+            String lower = title.toLowerCase(Locale.ROOT);
+            List<String> starts = new ArrayList<>();
+            for (int i = 0; i < lower.length(); i++) {
+                boolean wordStart = Character.isLetterOrDigit(lower.charAt(i))
+                        && (i == 0 || !Character.isLetterOrDigit(lower.charAt(i - 1)));
+                if (wordStart) {
+                    starts.add(lower.substring(i));
+                }
+            }
+            return starts;
+        }
+
+        private void precompute() {
+            for (int length = 1; length <= PRECOMPUTED_PREFIX; length++) {
+                int start = 0;
+                while (start < keys.length) {
+                    if (keys[start].length() < length) {
+                        start++;
+                        continue;
+                    }
+                    String prefix = keys[start].substring(0, length);
+                    int end = start + 1;
+                    while (end < keys.length && keys[end].startsWith(prefix)) {
+                        end++;
+                    }
+                    tops.put(prefix, rank(start, end));
+                    start = end;
+                }
+            }
+        }
+
+        Suggestion[] top(String prefix) {
+            Suggestion[] cached = tops.get(prefix);
+            if (cached != null) {
+                return cached;
+            }
+            if (prefix.length() <= PRECOMPUTED_PREFIX) {
+                return NONE;
+            }
+            if (tops.size() >= MAX_CACHED_PREFIXES) {
+                return rank(prefix);
+            }
+            // Ranked under the map's lock for the prefix, so a concurrent update() either re-ranks
+            // the cached entry or happened before it was computed.
+            Suggestion[] ranked = tops.computeIfAbsent(prefix, p -> {
+                Suggestion[] r = rank(p);
+                return r.length > 0 ? r : null;
+            });
+            return ranked != null ? ranked : NONE;
+        }
+
+        /**
+         * Replaces a game and re-ranks the cached prefixes of its title. A game
+         * this snapshot lacks or knows under another title is left to the
+         * pending rebuild.
+         */
+        void update(Suggestion game) {
+            Integer slot = game != null ? slots.get(game.id()) : null;
+            if (slot == null || !games.get(slot).title().equals(game.title())) {
+                return;
+            }
+            games.set(slot, game);
+            for (String key : wordStarts(game.title())) {
+                for (int length = 1; length <= key.length(); length++) {
+                    tops.computeIfPresent(key.substring(0, length), (prefix, top) -> rerank(prefix, top, game));
+                }
+            }
+        }
+
+        // The previous top without the game, plus the game at its new place. Only when it was listed
+        // and drops to the last place of a full list might an unlisted game now beat it: rank afresh.
+        private Suggestion[] rerank(String prefix, Suggestion[] top, Suggestion game) {
+            List<Suggestion> others = new ArrayList<>(top.length + 1);
+            for (Suggestion s : top) {
+                if (!s.id().equals(game.id())) {
+                    others.add(s);
+                }
+            }
+            boolean listed = others.size() < top.length;
+            int at = 0;
+            while (at < others.size() && RANKING.compare(others.get(at), game) < 0) {
+                at++;
+            }
+            if (top.length == MAX_SUGGESTIONS && at == MAX_SUGGESTIONS - 1 && listed) {
+                return rank(prefix);
+            }
+            if (at >= MAX_SUGGESTIONS) {
+                return top;
+            }
+            others.add(at, game);
+            if (others.size() > MAX_SUGGESTIONS) {
+                others.remove(MAX_SUGGESTIONS);
+            }
+            return others.toArray(NONE);
+        }
+
+        private Suggestion[] rank(String prefix) {
+            return rank(lowerBound(prefix), lowerBound(prefix + Character.MAX_VALUE));
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // Best MAX_SUGGESTIONS distinct games in [from, to), by insertion into a short sorted array.
+        private Suggestion[] rank(int from, int to) {
+            Suggestion[] best = new Suggestion[MAX_SUGGESTIONS];
+            int size = 0;
+            outer:
+            for (int i = from; i < to; i++) {
+                Suggestion s = games.get(owners[i]);
+                if (size == MAX_SUGGESTIONS && RANKING.compare(s, best[size - 1]) >= 0) {
+                    continue;
+                }
+                for (int j = 0; j < size; j++) {
+                    if (best[j].id().equals(s.id())) {
+                        continue outer;
+                    }
+                }
+                int at = size < MAX_SUGGESTIONS ? size++ : size - 1;
+                while (at > 0 && RANKING.compare(s, best[at - 1]) < 0) {
+                    best[at] = best[at - 1];
+                    at--;
+                }
+                best[at] = s;
+            }
+            return size == MAX_SUGGESTIONS ? best : Arrays.copyOf(best, size);
+        }
+    }
+}
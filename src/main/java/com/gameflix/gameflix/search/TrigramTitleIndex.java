@@ -0,0 +1,286 @@
+package com.gameflix.gameflix.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Typo-tolerant title search. Each title token is split into padded trigrams
+ * ("zelda" gives $ze zel eld lda da$). A query first counts shared trigrams per
+ * title through the postings, keeps the {@link #MAX_CANDIDATES} titles sharing
+ * the most, then re-ranks those by per-token edit distance (optimal string
+ * alignment, so a swapped pair of letters is one edit). Writes mark the
+ * snapshot stale and the next search rebuilds it, like {@link TitleSuggestIndex}.
+ */
+public class TrigramTitleIndex {
+
+    static final int MAX_CANDIDATES = 256;
+    // Fraction of the query's trigrams a title must share to be re-ranked at all.
+    static final double MIN_SHARED = 0.3;
+    static final int SHORT_TOKEN = 5;
+
+    private final Map<Long, String> titles = new HashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.build(Map.of());
+    private volatile boolean stale;
+
+    public void index(Long id, String title) {
+        writeLock.lock();
+        try {
+            titles.put(id, title);
+            stale = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void clear() {
+        writeLock.lock();
+        try {
+            titles.clear();
+            stale = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = CatalogSearchIndex.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return current().search(tokens, limit);
+    }
+
+    /** Edits allowed between a query token and a title token of the query token's length. */
+    static int allowedEdits(int length) {
+        return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+    }
+
+    /** Optimal string alignment distance, or {@code max + 1} once it is certain to exceed {@code max}. */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, previous2[j - 2] + 1);
+                }
+                row[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = row;
+            row = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    static Set<String> trigrams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private Snapshot current() {
+        if (stale && rebuildLock.tryLock()) {
+            try {
+                if (stale) {
+                    Map<Long, String> copy;
+                    writeLock.lock();
+                    try {
+                        stale = false;
+                        copy = new HashMap<>(titles);
+                    } finally {
+                        writeLock.unlock();
+                    }
+                    snapshot = Snapshot.build(copy);
+                }
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+
+        private final long[] ids;
+        private final String[] titles;
+        private final String[][] tokens;
+        private final Map<String, int[]> postings;
+
+        private Snapshot(long[] ids, String[] titles, String[][] tokens, Map<String, int[]> postings) {
+            this.ids = ids;
+            this.titles = titles;
+            this.tokens = tokens;
+            this.postings = postings;
+        }
+
+        static Snapshot build(Map<Long, String> source) {
+            int n = source.size();
+            long[] ids = new long[n];
+            String[] titles = new String[n];
+            String[][] tokens = new String[n][];
+            Map<String, List<Integer>> lists = new HashMap<>();
+            int ordinal = 0;
+            for (Map.Entry<Long, String> e : source.entrySet()) {
+                ids[ordinal] = e.getKey();
+                titles[ordinal] = e.getValue();
+                tokens[ordinal] = CatalogSearchIndex.tokenize(e.getValue()).toArray(String[]::new);
+                Set<String> grams = new LinkedHashSet<>();
+                for (String token : tokens[ordinal]) {
+                    grams.addAll(trigrams(token));
+                }
+                for (String gram : grams) {
+                    lists.computeIfAbsent(gram, k -> new ArrayList<>()).add(ordinal);
+                }
+                ordinal++;
+            }
+            Map<String, int[]> postings = new HashMap<>(lists.size() * 2);
+            for (Map.Entry<String, List<Integer>> e : lists.entrySet()) {
+                postings.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            return new Snapshot(ids, titles, tokens, postings);
+        }
+
+        List<SearchHit> search(List<String> queryTokens, int limit) {
+            Set<String> grams = new LinkedHashSet<>();
+            for (String token : queryTokens) {
+                grams.addAll(trigrams(token));
+            }
+            int queryGrams = grams.size();
+            // A swapped pair in a short word can leave no trigram in common with the intended
+            // word ("gmae" and "game"), so short tokens also look up their swapped spellings.
+            for (String token : queryTokens) {
+                if (token.length() <= SHORT_TOKEN) {
+                    for (int i = 0; i + 1 < token.length(); i++) {
+                        grams.addAll(trigrams(token.substring(0, i) + token.charAt(i + 1) + token.charAt(i)
+                                + token.substring(i + 2)));
+                    }
+                }
+            }
+            short[] shared = new short[ids.length];
+            int[] touched = new int[64];
+            int touchedCount = 0;
+            for (String gram : grams) {
+                int[] posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                for (int ordinal : posting) {
+                    if (shared[ordinal]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = ordinal;
+                    }
+                }
+            }
+
+            // Bucket by shared-trigram count and take the best buckets first.
+            int minShared = Math.max(1, (int) (queryGrams * MIN_SHARED));
+            int[] bucketSizes = new int[grams.size() + 1];
+            for (int i = 0; i < touchedCount; i++) {
+                bucketSizes[shared[touched[i]]]++;
+            }
+            int cutoff = grams.size();
+            int kept = 0;
+            while (cutoff > minShared && kept + bucketSizes[cutoff] < MAX_CANDIDATES) {
+                kept += bucketSizes[cutoff];
+                cutoff--;
+            }
+
+            List<Candidate> candidates = new ArrayList<>();
+            int considered = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                if (shared[touched[i]] > cutoff) {
+                    considered++;
+                    addIfClose(candidates, queryTokens, touched[i], shared[touched[i]]);
+                }
+            }
+            for (int i = 0; i < touchedCount && considered < MAX_CANDIDATES; i++) {
+                if (shared[touched[i]] == cutoff) {
+                    considered++;
+                    addIfClose(candidates, queryTokens, touched[i], shared[touched[i]]);
+                }
+            }
+            candidates.sort((a, b) -> {
+                int c = Integer.compare(a.edits, b.edits);
+                if (c == 0) {
+                    c = Integer.compare(b.shared, a.shared);
+                }
+                if (c == 0) {
+                    c = Integer.compare(titles[a.ordinal].length(), titles[b.ordinal].length());
+                }
+                return c != 0 ? c : Long.compare(ids[a.ordinal], ids[b.ordinal]);
+            });
+            List<SearchHit> hits = new ArrayList<>(Math.min(limit, candidates.size()));
+            for (Candidate c : candidates) {
+                if (hits.size() == limit) {
+                    break;
+                }
+                hits.add(new SearchHit(ids[c.ordinal], 1.0 / (1 + c.edits)));
+            }
+            return hits;
+        }
+
+        private void addIfClose(List<Candidate> candidates, List<String> queryTokens, int ordinal, int sharedGrams) {
+            int edits = edits(queryTokens, tokens[ordinal]);
+            if (edits >= 0) {
+                candidates.add(new Candidate(ordinal, edits, sharedGrams));
+            }
+        }
+
+        // Sum over query tokens of the closest title token (whole token or same-length prefix,
+        // so a half-typed last word still matches); -1 when some token has no close enough match.
+        private static int edits(List<String> queryTokens, String[] titleTokens) {
+            int total = 0;
+            for (String q : queryTokens) {
+                int max = allowedEdits(q.length());
+                int best = max + 1;
+                for (String t : titleTokens) {
+                    best = Math.min(best, distance(q, t, max));
+                    if (t.length() > q.length()) {
+                        best = Math.min(best, distance(q, t.substring(0, q.length()), max));
+                    }
+                    if (best == 0) {
+                        break;
+                    }
+                }
+                if (best > max) {
+                    return -1;
+                }
+                total += best;
+            }
+            return total;
+        }
+    }
+
+    private record Candidate(int ordinal, int edits, int shared) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.search.CatalogFacetIndex;
+import com.gameflix.gameflix.search.FacetCount;
+import com.gameflix.gameflix.search.FacetQuery;
+import com.gameflix.gameflix.search.FacetResult;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CatalogFacetService {
+
+    private final GameRepository gameRepository;
+    private final CatalogFacetIndex index = new CatalogFacetIndex();
+
+    public CatalogFacetService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (Game g : gameRepository.findAll()) {
+            index(g);
+        }
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        index(event.game());
+    }
+
+    @TransactionalEventListener
+    public void onRatingChanged(GameRatingChangedEvent event) {
+        index.updateRating(event.gameId(), event.rating().getAverage());
+    }
+
+    public FacetResult query(FacetQuery query) {
+        return index.query(query);
+    }
+
+    public List<String> genres() {
+        List<String> genres = new ArrayList<>();
+        for (FacetCount count : index.query(new FacetQuery(null, null, null, null, GameSort.TITLE, null, 1)).genres()) {
+            genres.add(count.value());
+        }
+        return genres;
+    }
+
+    private void index(Game g) {
+        index.index(g.getId(), g.getTitle(), g.getGenre(), g.getSubscriptionTier(), g.getRatingAvg());
+    }
+}
@@ -0,0 +1,27 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/** Inserts each review in the request's own transaction. */
+@Service
+@ConditionalOnProperty(name = "gameflix.reviews.write-behind.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectReviewIntake implements ReviewIntake {
+
+    private final ReviewService reviewService;
+
+    public DirectReviewIntake(ReviewService reviewService) {
+        this.reviewService = reviewService;
+    }
+
+    @Override
+    public Long submit(Game game, String username, int rating, String comment) {
+        return reviewService.create(game, username, rating, comment).getId();
+    }
+
+    @Override
+    public boolean hasReviewed(Long gameId, String username) {
+        return reviewService.existsForUser(gameId, username);
+    }
+}
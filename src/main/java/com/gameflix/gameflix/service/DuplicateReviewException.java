@@ -0,0 +1,13 @@
+package com.gameflix.gameflix.service;
+
+/** Thrown when the user already has a review of the game, as enforced by the reviews table's unique key. */
+public class DuplicateReviewException extends RuntimeException {
+
+    public DuplicateReviewException(String message) {
+        super(message);
+    }
+
+    public DuplicateReviewException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,90 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.entitlement.EntitlementIndex;
+import com.gameflix.gameflix.entitlement.TierMask;
+import com.gameflix.gameflix.model.EntitlementCheck;
+import com.gameflix.gameflix.model.PlanTier;
+import com.gameflix.gameflix.repository.GameRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class EntitlementService {
+
+    public static final int MAX_CHECK_SIZE = 1000;
+
+    private final GameRepository gameRepository;
+    private final EntitlementIndex index = new EntitlementIndex();
+
+    public EntitlementService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (GameRepository.GameTier g : gameRepository.findTiers()) {
+            index.index(g.getId(), g.getSubscriptionTier());
+        }
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        index.index(event.game().getId(), event.game().getSubscriptionTier());
+    }
+
+    /** Resolve the plan once per request; the mask is then reused for every game checked. */
+    public int planMask(String planTier) {
+        return TierMask.plan(planTier);
+    }
+
+    public boolean canAccess(int planMask, String subscriptionTier) {
+        return TierMask.allows(planMask, TierMask.required(subscriptionTier));
+    }
+
+    /** Ids of the given games the plan cannot open, in one pass over the index. */
+    public Set<Long> lockedIds(int planMask, List<Long> gameIds) {
+        int[] required = index.required(gameIds);
+        Set<Long> locked = new HashSet<>();
+        for (int i = 0; i < required.length; i++) {
+            if (required[i] != 0 && !TierMask.allows(planMask, required[i])) {
+                locked.add(gameIds.get(i));
+            }
+        }
+        return locked;
+    }
+
+    public EntitlementCheck check(String planTier, List<Long> gameIds) {
+        if (gameIds.size() > MAX_CHECK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_CHECK_SIZE + " games per check");
+        }
+        String plan = PlanTier.normalize(planTier);
+        if (plan == null) {
+            plan = PlanTier.FREE;
+        }
+        int planMask = planMask(plan);
+        int[] required = index.required(gameIds);
+        List<EntitlementCheck.Item> results = new ArrayList<>(required.length);
+        int allowed = 0;
+        int locked = 0;
+        for (int i = 0; i < required.length; i++) {
+            Long id = gameIds.get(i);
+            if (required[i] == 0) {
+                results.add(new EntitlementCheck.Item(id, EntitlementCheck.GAME_NOT_FOUND, null));
+            } else if (TierMask.allows(planMask, required[i])) {
+                allowed++;
+                results.add(new EntitlementCheck.Item(id, EntitlementCheck.ALLOWED, TierMask.tier(required[i])));
+            } else {
+                locked++;
+                results.add(new EntitlementCheck.Item(id, EntitlementCheck.LOCKED, TierMask.tier(required[i])));
+            }
+        }
+        return new EntitlementCheck(plan, allowed, locked, results);
+    }
+}
@@ -0,0 +1,45 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.search.FulltextQuery;
+import com.gameflix.gameflix.search.SearchBackend;
+import com.gameflix.gameflix.search.SearchHit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searches the FULLTEXT indexes on games (V5 migration) instead of holding the
+ * catalog in the heap. InnoDB updates them as part of each committed insert or
+ * update, so saves need no separate sync step, and every node sees the same index.
+ */
+@Service
+@ConditionalOnProperty(name = "gameflix.search.backend", havingValue = "fulltext")
+public class FulltextSearchBackend implements SearchBackend {
+
+    private final GameRepository gameRepository;
+    private final int minTokenSize;
+
+    public FulltextSearchBackend(GameRepository gameRepository,
+                                 @Value("${gameflix.search.fulltext.min-token-size:3}") int minTokenSize) {
+        this.gameRepository = gameRepository;
+        this.minTokenSize = minTokenSize;
+    }
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        String expression = FulltextQuery.of(query, minTokenSize);
+        if (expression == null || limit <= 0) {
+            return List.of();
+        }
+        List<GameRepository.SearchRow> rows = gameRepository.searchFulltext(expression, limit);
+        List<SearchHit> hits = new ArrayList<>(rows.size());
+        for (GameRepository.SearchRow row : rows) {
+            hits.add(new SearchHit(row.getId(), row.getScore()));
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,29 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.CursorPage;
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameRating;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.ReviewView;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record GameDetail(Game game,
+                         GameRating rating,
+                         CursorPage<ReviewView> reviews,
+                         boolean inLibrary,
+                         boolean alreadyReviewed,
+                         List<GameSummary> relatedGames,
+                         List<GameSummary> similarGames,
+                         Map<String, Long> stageNanos) {
+
+    /** Per-stage durations in the W3C Server-Timing header format. */
+    public String serverTiming() {
+        return stageNanos.entrySet().stream()
+                .map(e -> String.format(Locale.ROOT, "%s;dur=%.2f", e.getKey(), e.getValue() / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+    }
+}
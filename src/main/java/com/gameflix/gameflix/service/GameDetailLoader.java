@@ -0,0 +1,171 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.CursorPage;
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameRating;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.ReviewView;
+import com.gameflix.gameflix.repository.LibraryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Loads everything the game page needs. The five lookups are independent, so
+ * with fan-out enabled they run concurrently on virtual threads and the page
+ * waits for the slowest one instead of their sum. Each stage is timed.
+ * Related and similar ids come from in-memory indexes, so both lists' summaries
+ * load in one query. Each stage holds one connection, and stages of all page
+ * views together hold at most half the connection pool, leaving the rest for
+ * other requests.
+ */
+@Service
+public class GameDetailLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(GameDetailLoader.class);
+
+    public static final int FIRST_PAGE_SIZE = 10;
+    public static final int RELATED_GAMES = 6;
+    private static final String[] STAGES = {"game", "reviews", "rating", "viewer", "recommended", "total"};
+
+    private final GameService gameService;
+    private final ReviewService reviewService;
+    private final RatingAggregateService ratingAggregateService;
+    private final LibraryRepository libraryRepository;
+    private final RelatedGamesService relatedGamesService;
+    private final SimilarGamesService similarGamesService;
+    private final ExecutorService fanOutExecutor;
+    private final Semaphore queryPermits;
+    private final boolean parallel;
+
+    public GameDetailLoader(GameService gameService,
+                            ReviewService reviewService,
+                            RatingAggregateService ratingAggregateService,
+                            LibraryRepository libraryRepository,
+                            RelatedGamesService relatedGamesService,
+                            SimilarGamesService similarGamesService,
+                            ExecutorService fanOutExecutor,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                            @Value("${gameflix.detail.parallel:true}") boolean parallel) {
+        this.gameService = gameService;
+        this.reviewService = reviewService;
+        this.ratingAggregateService = ratingAggregateService;
+        this.libraryRepository = libraryRepository;
+        this.relatedGamesService = relatedGamesService;
+        this.similarGamesService = similarGamesService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.queryPermits = new Semaphore(Math.max(1, poolSize / 2));
+        this.parallel = parallel;
+    }
+
+    /** reviewCursor pages the reviews shown on the page; null starts at the newest. */
+    public Optional<GameDetail> load(Long gameId, String username, String reviewCursor) {
+        long start = System.nanoTime();
+        Map<String, Long> nanos = new ConcurrentHashMap<>();
+
+        CompletableFuture<Optional<Game>> game = stage("game", nanos, () -> gameService.findById(gameId));
+        CompletableFuture<CursorPage<ReviewView>> reviews =
+                stage("reviews", nanos, () -> reviewService.page(gameId, reviewCursor, FIRST_PAGE_SIZE));
+        CompletableFuture<GameRating> rating = stage("rating", nanos, () -> ratingAggregateService.find(gameId));
+        CompletableFuture<LibraryRepository.ViewerFlags> viewer = username == null
+                ? CompletableFuture.completedFuture(null)
+                : stage("viewer", nanos, () -> libraryRepository.findViewerFlags(username, gameId));
+        List<Long> relatedIds = relatedGamesService.relatedIds(gameId, RELATED_GAMES);
+        List<Long> similarIds = similarGamesService.similarIds(gameId, RELATED_GAMES);
+        CompletableFuture<Map<Long, GameSummary>> recommended = stage("recommended", nanos,
+                () -> summariesById(relatedIds, similarIds));
+
+        try {
+            Optional<Game> loaded = game.join();
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            LibraryRepository.ViewerFlags flags = viewer.join();
+            CursorPage<ReviewView> reviewPage = reviews.join();
+            GameRating ratingRow = rating.join();
+            Map<Long, GameSummary> summaries = recommended.join();
+            List<GameSummary> relatedGames = inOrder(relatedIds, summaries);
+            List<GameSummary> similarGames = inOrder(similarIds, summaries);
+            nanos.put("total", System.nanoTime() - start);
+
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            for (String s : STAGES) {
+                Long n = nanos.get(s);
+                if (n != null) {
+                    ordered.put(s, n);
+                }
+            }
+            GameDetail detail = new GameDetail(loaded.get(), ratingRow, reviewPage,
+                    flags != null && flags.getInLibrary() > 0,
+                    flags != null && flags.getReviewed() > 0,
+                    relatedGames,
+                    similarGames,
+                    ordered);
+            if (log.isDebugEnabled()) {
+                log.debug("game detail {} loaded ({}): {}", gameId, parallel ? "parallel" : "sequential", detail.serverTiming());
+            }
+            return Optional.of(detail);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private Map<Long, GameSummary> summariesById(List<Long> relatedIds, List<Long> similarIds) {
+        Set<Long> ids = new LinkedHashSet<>(relatedIds);
+        ids.addAll(similarIds);
+        Map<Long, GameSummary> byId = new HashMap<>();
+        for (GameSummary g : gameService.findSummariesInOrder(List.copyOf(ids))) {
+            byId.put(g.id(), g);
+        }
+        return byId;
+    }
+
+    private static List<GameSummary> inOrder(List<Long> ids, Map<Long, GameSummary> byId) {
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private <T> CompletableFuture<T> stage(String name, Map<String, Long> nanos, Supplier<T> work) {
+        Supplier<T> timed = () -> {
+            long t = System.nanoTime();
+            try {
+                return work.get();
+            } finally {
+                nanos.put(name, System.nanoTime() - t);
+            }
+        };
+        if (!parallel) {
+            try {
+                return CompletableFuture.completedFuture(timed.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            queryPermits.acquireUninterruptibly();
+            try {
+                return timed.get();
+            } finally {
+                queryPermits.release();
+            }
+        }, fanOutExecutor);
+    }
+}
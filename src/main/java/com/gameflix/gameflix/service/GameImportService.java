@@ -0,0 +1,168 @@
+package com.gameflix.gameflix.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.gameflix.gameflix.importer.CsvReader;
+import com.gameflix.gameflix.importer.GameImportRow;
+import com.gameflix.gameflix.importer.ImportFormat;
+import com.gameflix.gameflix.importer.ImportReport;
+import com.gameflix.gameflix.model.Game;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams games from a CSV or NDJSON body into the catalog. Rows are read one
+ * at a time and written in chunks of {@link #BATCH_SIZE}; each chunk is
+ * deduplicated against the table with a single IN query and inserted as a JDBC
+ * batch in its own transaction, so memory stays flat however large the file is.
+ */
+@Service
+public class GameImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameImportService.class);
+
+    public static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_REJECTS = 100;
+
+    private final GameService gameService;
+    private final ObjectReader rowReader;
+
+    public GameImportService(GameService gameService, ObjectMapper objectMapper) {
+        this.gameService = gameService;
+        this.rowReader = objectMapper.readerFor(GameImportRow.class);
+    }
+
+    public ImportReport importGames(InputStream body, ImportFormat format) throws IOException {
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == ImportFormat.NDJSON) {
+            readNdjson(reader, run);
+        } else {
+            readCsv(reader, run);
+        }
+        run.flush();
+        ImportReport report = run.report();
+        log.info("Imported {} of {} games ({} duplicates, {} rejected) in {} ms, {} rows/s",
+                report.imported(), report.rows(), report.duplicates(), report.rejected(),
+                report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    private void readCsv(BufferedReader reader, Run run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new IllegalArgumentException("CSV header must include a title column");
+        }
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            run.add(GameImportRow.fromCsv(columns, fields));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Run run) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                run.add(rowReader.readValue(line));
+            } catch (JsonProcessingException e) {
+                run.malformed("Malformed JSON");
+            }
+        }
+    }
+
+    private static String titleKey(String title) {
+        // MySQL's default collation compares titles case-insensitively, as existsByTitle does.
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private class Run {
+        private final long start = System.nanoTime();
+        private final List<Game> pending = new ArrayList<>(BATCH_SIZE);
+        private final List<ImportReport.Reject> rejects = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long rejected;
+
+        void add(GameImportRow row) {
+            rows++;
+            String reason = row.validate();
+            if (reason != null) {
+                reject(row.title(), reason);
+                return;
+            }
+            pending.add(row.toGame());
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void malformed(String reason) {
+            rows++;
+            reject(null, reason);
+        }
+
+        private void reject(String title, String reason) {
+            rejected++;
+            if (rejects.size() < MAX_REPORTED_REJECTS) {
+                rejects.add(new ImportReport.Reject(rows, title, reason));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Set<String> existing = new HashSet<>();
+            for (String title : gameService.findExistingTitles(pending.stream().map(Game::getTitle).toList())) {
+                existing.add(titleKey(title));
+            }
+            List<Game> fresh = new ArrayList<>(pending.size());
+            for (Game game : pending) {
+                // add() also catches repeats inside the chunk; earlier chunks are already in the table.
+                if (existing.add(titleKey(game.getTitle()))) {
+                    fresh.add(game);
+                } else {
+                    duplicates++;
+                }
+            }
+            pending.clear();
+            if (!fresh.isEmpty()) {
+                imported += gameService.saveBatch(fresh);
+            }
+        }
+
+        ImportReport report() {
+            long elapsedNanos = System.nanoTime() - start;
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            return new ImportReport(rows, imported, duplicates, rejected, elapsedNanos / 1_000_000,
+                    seconds > 0 ? rows / seconds : rows, List.copyOf(rejects));
+        }
+    }
+}
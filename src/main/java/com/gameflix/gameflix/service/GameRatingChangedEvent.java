@@ -0,0 +1,6 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.GameRating;
+
+public record GameRatingChangedEvent(Long gameId, GameRating rating) {
+}
@@ -0,0 +1,6 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+
+public record GameSavedEvent(Game game) {
+}
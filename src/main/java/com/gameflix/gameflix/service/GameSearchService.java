@@ -0,0 +1,60 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.search.SearchBackend;
+import com.gameflix.gameflix.search.SearchHit;
+import com.gameflix.gameflix.search.TrigramTitleIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catalog search over the backend chosen by gameflix.search.backend (memory or fulltext),
+ * plus typo-tolerant title matching for /catalog?fuzzy=true.
+ */
+@Service
+public class GameSearchService {
+
+    static final int MAX_RESULTS = 500;
+
+    private final SearchBackend backend;
+    private final GameRepository gameRepository;
+    private final TrigramTitleIndex fuzzyIndex = new TrigramTitleIndex();
+
+    public GameSearchService(SearchBackend backend, GameRepository gameRepository) {
+        this.backend = backend;
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        fuzzyIndex.clear();
+        for (GameRepository.GameTitle g : gameRepository.findTitles()) {
+            fuzzyIndex.index(g.getId(), g.getTitle());
+        }
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        fuzzyIndex.index(event.game().getId(), event.game().getTitle());
+    }
+
+    public List<Long> search(String query) {
+        return ids(backend.search(query, MAX_RESULTS));
+    }
+
+    public List<Long> fuzzySearch(String query) {
+        return ids(fuzzyIndex.search(query, MAX_RESULTS));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.gameId());
+        }
+        return ids;
+    }
+}
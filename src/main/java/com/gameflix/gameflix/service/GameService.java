@@ -1,30 +1,172 @@
 package com.gameflix.gameflix.service;
 
+import com.gameflix.gameflix.config.CacheConfig;
+import com.gameflix.gameflix.model.CursorPage;
 import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.GameVersion;
 import com.gameflix.gameflix.repository.GameRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class GameService {
 
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public GameService(GameRepository gameRepository) {
+    public GameService(GameRepository gameRepository, ApplicationEventPublisher eventPublisher) {
         this.gameRepository = gameRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Game> findAll() {
         return gameRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.GAMES, unless = "#result == null")
     public Optional<Game> findById(Long id) {
         return gameRepository.findById(id);
     }
 
+    public Optional<GameVersion> findVersion(Long id) {
+        return gameRepository.findVersionById(id);
+    }
+
+    /**
+     * Catalog-wide version: the newest games.updated_at. Every insert, edit and
+     * rating change moves it forward, and it is shared by all app nodes.
+     */
+    public Instant catalogVersion() {
+        Instant last = gameRepository.findLastUpdatedAt();
+        return last != null ? last : Instant.EPOCH;
+    }
+
+    public List<GameSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, GameSummary> byId = gameRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(GameSummary::id, Function.identity()));
+        List<GameSummary> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            GameSummary g = byId.get(id);
+            if (g != null) {
+                ordered.add(g);
+            }
+        }
+        return ordered;
+    }
+
+    public CursorPage<GameSummary> page(GameSort sort, String cursor, int size) {
+        if (sort == GameSort.RELEVANCE) {
+            sort = GameSort.TITLE;
+        }
+        GameCursor after = GameCursor.decode(cursor, sort);
+        int pageSize = clampPageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<GameSummary> rows = switch (sort) {
+            case TITLE -> after == null
+                    ? gameRepository.findSummariesByTitle(limit)
+                    : gameRepository.findSummariesByTitleAfter(after.key(), after.id(), limit);
+            case NEWEST -> gameRepository.findSummariesBefore(after == null ? Long.MAX_VALUE : after.id(), limit);
+            default -> ratingPage(after, pageSize + 1);
+        };
+
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<GameSummary> items = rows.subList(0, pageSize);
+        GameSummary last = items.get(items.size() - 1);
+        return new CursorPage<>(items, cursorFor(sort, last).encode());
+    }
+
+    public static int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private List<GameSummary> ratingPage(GameCursor after, int fetch) {
+        // Rated games come first (highest rating, then newest), followed by unrated games newest first.
+        List<GameSummary> rows = new ArrayList<>(fetch);
+        if (after == null || after.key() != null) {
+            rows.addAll(after == null
+                    ? gameRepository.findRatedSummaries(Limit.of(fetch))
+                    : gameRepository.findRatedSummariesAfter(after.ratingKey(), after.id(), Limit.of(fetch)));
+        }
+        if (rows.size() < fetch) {
+            long before = after != null && after.key() == null ? after.id() : Long.MAX_VALUE;
+            rows.addAll(gameRepository.findUnratedSummariesBefore(before, Limit.of(fetch - rows.size())));
+        }
+        return rows;
+    }
+
+    private static GameCursor cursorFor(GameSort sort, GameSummary last) {
+        String key = switch (sort) {
+            case TITLE -> last.title();
+            case RATING -> last.ratingAvg() != null ? last.ratingAvg().toString() : null;
+            default -> null;
+        };
+        return new GameCursor(sort, key, last.id());
+    }
+
+    public List<String> findExistingTitles(Collection<String> titles) {
+        return titles.isEmpty() ? List.of() : gameRepository.findTitlesIn(titles);
+    }
+
+    /**
+     * Inserts new games as JDBC batches and detaches them afterwards so a long
+     * import does not grow the persistence context. Returns the number saved.
+     */
+    @Transactional
+    public int saveBatch(List<Game> games) {
+        gameRepository.saveAll(games);
+        entityManager.flush();
+        entityManager.clear();
+        for (Game game : games) {
+            eventPublisher.publishEvent(new GameSavedEvent(game));
+        }
+        return games.size();
+    }
+
+    @CachePut(cacheNames = CacheConfig.GAMES, key = "#result.id")
     public Game save(Game game) {
-        return gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameSavedEvent(saved));
+        return saved;
+    }
+
+    // rating_avg is updated in SQL by RatingAggregateService, so the cached row is stale after a review.
+    @CacheEvict(cacheNames = CacheConfig.GAMES, key = "#event.gameId()")
+    @TransactionalEventListener
+    public void onRatingChanged(GameRatingChangedEvent event) {
     }
 }
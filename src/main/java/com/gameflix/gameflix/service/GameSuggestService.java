@@ -0,0 +1,44 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.search.Suggestion;
+import com.gameflix.gameflix.search.TitleSuggestIndex;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+public class GameSuggestService {
+
+    private final GameRepository gameRepository;
+    private final TitleSuggestIndex index = new TitleSuggestIndex();
+
+    public GameSuggestService(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (GameRepository.GameTitle g : gameRepository.findTitles()) {
+            index.index(g.getId(), g.getTitle(), g.getRatingAvg(), g.getReviewCount() != null ? g.getReviewCount() : 0);
+        }
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        index.index(event.game().getId(), event.game().getTitle(), event.game().getRatingAvg());
+    }
+
+    @TransactionalEventListener
+    public void onRatingChanged(GameRatingChangedEvent event) {
+        index.updateRating(event.gameId(), event.rating().getAverage(), event.rating().getReviewCount());
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.search.CatalogSearchIndex;
+import com.gameflix.gameflix.search.SearchBackend;
+import com.gameflix.gameflix.search.SearchHit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/** Heap-resident inverted index, rebuilt at startup and fed by GameSavedEvent. */
+@Service
+@ConditionalOnProperty(name = "gameflix.search.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemorySearchBackend implements SearchBackend {
+
+    private final GameRepository gameRepository;
+    private final CatalogSearchIndex index = new CatalogSearchIndex();
+
+    public InMemorySearchBackend(GameRepository gameRepository) {
+        this.gameRepository = gameRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (Game g : gameRepository.findAll()) {
+            index(g);
+        }
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        index(event.game());
+    }
+
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private void index(Game g) {
+        index.index(g.getId(), g.getTitle(), g.getGenre(), g.getDescription());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.leaderboard.RatingLeaderboard;
+import com.gameflix.gameflix.leaderboard.TopRatedGame;
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameRating;
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.repository.GameRatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Top-rated games per genre and tier. The leaderboard is seeded with one
+ * streamed pass over the rating aggregates at startup and then kept current
+ * from rating events, so a request reads the first K entries of a ready list
+ * instead of sorting the catalog.
+ */
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public static final int MAX_TOP_RATED = 50;
+    // Prior mean before anything has been reviewed.
+    static final double DEFAULT_PRIOR_MEAN = 3.0;
+
+    private final GameRatingRepository gameRatingRepository;
+    private final GameService gameService;
+    private final double priorWeight;
+    private volatile RatingLeaderboard leaderboard;
+
+    public LeaderboardService(GameRatingRepository gameRatingRepository, GameService gameService,
+                              @Value("${gameflix.leaderboard.prior-weight:10}") double priorWeight) {
+        this.gameRatingRepository = gameRatingRepository;
+        this.gameService = gameService;
+        this.priorWeight = priorWeight;
+        this.leaderboard = new RatingLeaderboard(priorWeight, DEFAULT_PRIOR_MEAN);
+    }
+
+    // The prior mean is the catalog-wide average at startup and stays fixed until the next one,
+    // so scores of games nobody reviews since do not drift.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        GameRatingRepository.Totals totals = gameRatingRepository.findTotals();
+        double priorMean = totals.getReviewCount() > 0
+                ? (double) totals.getRatingSum() / totals.getReviewCount()
+                : DEFAULT_PRIOR_MEAN;
+        RatingLeaderboard built = new RatingLeaderboard(priorWeight, priorMean);
+        try (Stream<GameRatingRepository.RatedGame> rows = gameRatingRepository.streamRated()) {
+            rows.forEach(r -> built.update(r.getGameId(), r.getGenre(), r.getSubscriptionTier(),
+                    r.getReviewCount(), r.getRatingSum()));
+        }
+        leaderboard = built;
+        log.info("rating leaderboard built for {} games in {} ms (prior mean {})", built.size(),
+                (System.nanoTime() - start) / 1_000_000, String.format("%.2f", priorMean));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRatingChanged(GameRatingChangedEvent event) {
+        GameRating rating = event.rating();
+        gameService.findById(event.gameId()).ifPresent(g -> leaderboard.update(g.getId(), g.getGenre(),
+                g.getSubscriptionTier(), rating.getReviewCount(), rating.getRatingSum()));
+    }
+
+    @EventListener
+    public void onGameSaved(GameSavedEvent event) {
+        Game g = event.game();
+        leaderboard.reclassify(g.getId(), g.getGenre(), g.getSubscriptionTier());
+    }
+
+    /** Genre is case-insensitive, tier a canonical {@code PlanTier}, null for any. */
+    public List<TopRatedGame> topRated(String genre, String tier, int limit) {
+        List<RatingLeaderboard.Ranked> top = leaderboard.top(genre, tier, Math.min(limit, MAX_TOP_RATED));
+        Map<Long, RatingLeaderboard.Ranked> byId = new HashMap<>();
+        top.forEach(r -> byId.put(r.gameId(), r));
+        List<TopRatedGame> result = new ArrayList<>(top.size());
+        List<Long> ids = top.stream().map(RatingLeaderboard.Ranked::gameId).toList();
+        for (GameSummary g : gameService.findSummariesInOrder(ids)) {
+            RatingLeaderboard.Ranked r = byId.get(g.id());
+            result.add(new TopRatedGame(g, r.score(), r.average(), r.reviewCount()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,4 @@
+package com.gameflix.gameflix.service;
+
+public record LibraryEntryAddedEvent(String username, Long gameId) {
+}
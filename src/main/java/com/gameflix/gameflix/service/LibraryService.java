@@ -1,41 +1,72 @@
 package com.gameflix.gameflix.service;
 
-import com.gameflix.gameflix.model.Game;
-import com.gameflix.gameflix.model.LibraryEntry;
+import com.gameflix.gameflix.model.CursorPage;
+import com.gameflix.gameflix.model.GameCursor;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.LibraryItem;
+import com.gameflix.gameflix.model.PlanTier;
 import com.gameflix.gameflix.repository.LibraryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class LibraryService {
 
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final LibraryRepository libraryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LibraryService(LibraryRepository libraryRepository) {
+    public LibraryService(LibraryRepository libraryRepository, ApplicationEventPublisher eventPublisher) {
         this.libraryRepository = libraryRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<LibraryEntry> listForUser(String username) {
-        return libraryRepository.findByUsername(username);
+    public CursorPage<LibraryItem> page(String username, String genre, String tier,
+                                        GameSort sort, String cursor, int size) {
+        GameSort order = sort == GameSort.TITLE ? GameSort.TITLE : GameSort.NEWEST;
+        GameCursor after = GameCursor.decode(cursor, order);
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String genreFilter = genre == null || genre.isBlank() ? null : genre.trim();
+        String tierFilter = PlanTier.normalize(tier);
+
+        List<LibraryItem> rows;
+        try {
+            rows = libraryRepository.findItems(username, genreFilter, tierFilter, order, after, pageSize + 1);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<LibraryItem> items = rows.subList(0, pageSize);
+        LibraryItem last = items.get(items.size() - 1);
+        String key = order == GameSort.TITLE ? last.title() : last.addedAt().toString();
+        return new CursorPage<>(items, new GameCursor(order, key, last.entryId()).encode());
     }
 
 
     public boolean exists(String username, Long gameId) {
-        return libraryRepository.findByUsernameAndGameId(username, gameId).isPresent();
+        return libraryRepository.existsByUsernameAndGameId(username, gameId);
     }
 
-    public LibraryEntry add(String username, Game game) {
-        Optional<LibraryEntry> existing = libraryRepository.findByUsernameAndGameId(username, game.getId());
-        if (existing.isPresent()) {
-            return existing.get();
+    /**
+     * Adds the game in one statement. The unique (username, game_id) key makes
+     * concurrent double-submits safe; returns false when it was already there.
+     */
+    @Transactional
+    public boolean add(String username, Long gameId) {
+        libraryRepository.insertIfAbsent(username, gameId, LocalDateTime.now());
+        boolean inserted = libraryRepository.insertedId() > 0;
+        if (inserted) {
+            eventPublisher.publishEvent(new LibraryEntryAddedEvent(username, gameId));
         }
-        LibraryEntry entry = new LibraryEntry();
-        entry.setUsername(username);
-        entry.setGame(game);
-        entry.setAddedAt(LocalDateTime.now());
-        return libraryRepository.save(entry);
+        return inserted;
     }
 }
@@ -0,0 +1,9 @@
+package com.gameflix.gameflix.service;
+
+/** Thrown when the password-hashing pool is saturated and the request should be retried later. */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
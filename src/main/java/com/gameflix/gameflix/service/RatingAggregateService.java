@@ -0,0 +1,53 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.GameRating;
+import com.gameflix.gameflix.repository.GameRatingRepository;
+import com.gameflix.gameflix.repository.GameRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Service
+public class RatingAggregateService {
+
+    private final GameRatingRepository gameRatingRepository;
+    private final GameRepository gameRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RatingAggregateService(GameRatingRepository gameRatingRepository,
+                                  GameRepository gameRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.gameRatingRepository = gameRatingRepository;
+        this.gameRepository = gameRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public GameRating find(Long gameId) {
+        return gameRatingRepository.findById(gameId).orElseGet(() -> GameRating.empty(gameId));
+    }
+
+    @Transactional
+    public GameRating record(Long gameId, int rating) {
+        int[] stars = new int[5];
+        stars[rating - 1] = 1;
+        return record(gameId, stars);
+    }
+
+    /** Applies several ratings for one game at once; {@code stars[i]} counts the (i + 1)-star reviews. */
+    @Transactional
+    public GameRating record(Long gameId, int[] stars) {
+        int count = 0;
+        int sum = 0;
+        for (int i = 0; i < stars.length; i++) {
+            count += stars[i];
+            sum += stars[i] * (i + 1);
+        }
+        gameRatingRepository.increment(gameId, count, sum, stars[0], stars[1], stars[2], stars[3], stars[4]);
+        gameRepository.refreshRatingAvg(gameId, Instant.now());
+        GameRating updated = gameRatingRepository.findById(gameId).orElseThrow();
+        eventPublisher.publishEvent(new GameRatingChangedEvent(gameId, updated));
+        return updated;
+    }
+}
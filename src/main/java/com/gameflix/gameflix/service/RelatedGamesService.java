@@ -0,0 +1,87 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.recommend.CoOccurrenceMatrix;
+import com.gameflix.gameflix.recommend.Related;
+import com.gameflix.gameflix.repository.LibraryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * "Players also added" from library co-occurrence. The matrix is built from
+ * every library at startup, then each new library entry adds one count per
+ * game already in that library, after its transaction commits.
+ */
+@Service
+public class RelatedGamesService {
+
+    public static final int MAX_RELATED = 20;
+    // At most this many games of one library are paired, its most recent both on rebuild and on each add,
+    // bounding the work per user.
+    static final int MAX_LIBRARY_GAMES = 500;
+
+    private final LibraryRepository libraryRepository;
+    private final int maxNeighbors;
+    private volatile CoOccurrenceMatrix matrix;
+
+    public RelatedGamesService(LibraryRepository libraryRepository,
+                               @Value("${gameflix.related.max-neighbors:64}") int maxNeighbors) {
+        this.libraryRepository = libraryRepository;
+        this.maxNeighbors = maxNeighbors;
+        this.matrix = new CoOccurrenceMatrix(maxNeighbors);
+    }
+
+    // Streams the pairs, so memory is bounded by the matrix rather than the number of library entries.
+    // Each library arrives newest first, so the games kept past MAX_LIBRARY_GAMES are the ones
+    // onLibraryEntryAdded pairs with.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        CoOccurrenceMatrix built = new CoOccurrenceMatrix(maxNeighbors);
+        long[] library = new long[MAX_LIBRARY_GAMES];
+        int size = 0;
+        String user = null;
+        try (Stream<LibraryRepository.LibraryPair> pairs = libraryRepository.streamPairs()) {
+            Iterator<LibraryRepository.LibraryPair> it = pairs.iterator();
+            while (it.hasNext()) {
+                LibraryRepository.LibraryPair p = it.next();
+                if (!p.getUsername().equals(user)) {
+                    built.addLibrary(library, size);
+                    user = p.getUsername();
+                    size = 0;
+                }
+                if (size < library.length) {
+                    library[size++] = p.getGameId();
+                }
+            }
+        }
+        built.addLibrary(library, size);
+        matrix = built;
+    }
+
+    @TransactionalEventListener
+    public void onLibraryEntryAdded(LibraryEntryAddedEvent event) {
+        long gameId = event.gameId();
+        long[] existing = libraryRepository.findRecentGameIds(event.username(), MAX_LIBRARY_GAMES + 1).stream()
+                .mapToLong(Long::longValue)
+                .filter(id -> id != gameId)
+                .limit(MAX_LIBRARY_GAMES)
+                .toArray();
+        matrix.add(gameId, existing);
+    }
+
+    public List<Related> related(Long gameId, int limit) {
+        return matrix.top(gameId, Math.min(limit, MAX_RELATED));
+    }
+
+    public List<Long> relatedIds(Long gameId, int limit) {
+        return related(gameId, limit).stream().map(Related::gameId).toList();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gameflix.gameflix.service;
+
+/** Thrown when too many write-behind reviews are waiting to be stored and the post should be retried later. */
+public class ReviewBacklogFullException extends RuntimeException {
+
+    public ReviewBacklogFullException(String message) {
+        super(message);
+    }
+
+    public ReviewBacklogFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+
+/**
+ * Where a single posted review goes. {@link DirectReviewIntake} stores it
+ * before returning; with gameflix.reviews.write-behind.enabled,
+ * {@link WriteBehindReviewIntake} logs it locally and stores it shortly after.
+ */
+public interface ReviewIntake {
+
+    /**
+     * Returns the stored review's id, or null when it was accepted for
+     * write-behind and is not in the database yet. Throws
+     * {@link DuplicateReviewException} when the user's review of the game is
+     * already stored or accepted, and {@link ReviewLogUnavailableException}
+     * when a write-behind review could not be logged.
+     */
+    Long submit(Game game, String username, int rating, String comment);
+
+    /** Whether the user has a stored or accepted review of the game. */
+    boolean hasReviewed(Long gameId, String username);
+}
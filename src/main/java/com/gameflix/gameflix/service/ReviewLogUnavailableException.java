@@ -0,0 +1,9 @@
+package com.gameflix.gameflix.service;
+
+/** Thrown when a write-behind review could not be written to the local log and the post should be retried later. */
+public class ReviewLogUnavailableException extends RuntimeException {
+
+    public ReviewLogUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
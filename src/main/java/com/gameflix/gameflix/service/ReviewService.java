@@ -1,34 +1,96 @@
 package com.gameflix.gameflix.service;
 
+import com.gameflix.gameflix.model.CursorPage;
 import com.gameflix.gameflix.model.Game;
 import com.gameflix.gameflix.model.Review;
+import com.gameflix.gameflix.model.ReviewCursor;
+import com.gameflix.gameflix.model.ReviewView;
+import com.gameflix.gameflix.model.ReviewBatchResult;
+import com.gameflix.gameflix.repository.GameRepository;
 import com.gameflix.gameflix.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ReviewService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReviewService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
     private final ReviewRepository reviewRepository;
+    private final GameRepository gameRepository;
+    private final RatingAggregateService ratingAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ReviewService(ReviewRepository reviewRepository, GameRepository gameRepository,
+                         RatingAggregateService ratingAggregateService, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.gameRepository = gameRepository;
+        this.ratingAggregateService = ratingAggregateService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Review> listForGame(Long gameId) {
-        return reviewRepository.findByGameIdOrderByCreatedAtDesc(gameId);
-    }
+    public CursorPage<ReviewView> page(Long gameId, String cursor, int size) {
+        ReviewCursor before = ReviewCursor.decode(cursor);
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<ReviewView> rows;
+        if (gameId != null) {
+            rows = before == null
+                    ? reviewRepository.findViewsForGame(gameId, limit)
+                    : reviewRepository.findViewsForGameBefore(gameId, before.createdAt(), before.id(), limit);
+        } else {
+            rows = before == null
+                    ? reviewRepository.findViews(limit)
+                    : reviewRepository.findViewsBefore(before.createdAt(), before.id(), limit);
+        }
 
-    public List<Review> listAll() {
-        return reviewRepository.findAll();
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ReviewView> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, ReviewCursor.of(items.get(items.size() - 1)).encode());
     }
 
     public boolean existsForUser(Long gameId, String username) {
         return reviewRepository.findByGameIdAndUsername(gameId, username).isPresent();
     }
 
+    /**
+     * Stores one review. The unique (game, user) key decides whether the user
+     * already reviewed the game, so two concurrent posts cannot both succeed;
+     * the loser gets a {@link DuplicateReviewException}.
+     */
+    @Transactional
     public Review create(Game game, String username, Integer rating, String comment) {
         Review r = new Review();
         r.setGame(game);
@@ -36,6 +98,187 @@ public class ReviewService {
         r.setRating(rating);
         r.setComment(comment);
         r.setCreatedAt(LocalDateTime.now());
-        return reviewRepository.save(r);
+        Review saved;
+        try {
+            saved = reviewRepository.saveAndFlush(r);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOr(e);
+        }
+        ratingAggregateService.record(game.getId(), rating);
+        eventPublisher.publishEvent(new ReviewsPostedEvent(game.getId(), 1));
+        return saved;
+    }
+
+    /**
+     * Validates and stores many reviews with a fixed number of queries: one for
+     * the referenced games, one for existing (game, user) pairs, batched inserts,
+     * and one aggregate update per game. Invalid items are reported, not thrown.
+     * A review posted concurrently for a pair the pre-check saw as free fails
+     * the whole batch with a {@link DuplicateReviewException}; a retry then
+     * reports that pair as a duplicate.
+     */
+    @Transactional
+    public ReviewBatchResult createBatch(List<NewReview> reviews) {
+        if (reviews.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " reviews per batch");
+        }
+        ReviewBatchResult.Item[] results = new ReviewBatchResult.Item[reviews.size()];
+
+        Set<Long> gameIds = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            NewReview r = reviews.get(i);
+            String problem = r.validate();
+            if (problem != null) {
+                results[i] = new ReviewBatchResult.Item(i, ReviewBatchResult.INVALID, null, problem);
+            } else {
+                gameIds.add(r.gameId());
+                usernames.add(r.username());
+            }
+        }
+
+        Set<Long> knownGames = gameIds.isEmpty() ? Set.of() : new HashSet<>(gameRepository.findIdsIn(gameIds));
+        Set<String> taken = new HashSet<>();
+        if (!knownGames.isEmpty()) {
+            for (ReviewRepository.ReviewKey key : reviewRepository.findKeys(knownGames, usernames)) {
+                taken.add(pairKey(key.getGameId(), key.getUsername()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Review> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        Map<Long, int[]> starsByGame = new HashMap<>();
+        for (int i = 0; i < reviews.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            NewReview r = reviews.get(i);
+            if (!knownGames.contains(r.gameId())) {
+                results[i] = new ReviewBatchResult.Item(i, ReviewBatchResult.GAME_NOT_FOUND, null, "Game not found");
+            } else if (!taken.add(pairKey(r.gameId(), r.username()))) {
+                results[i] = new ReviewBatchResult.Item(i, ReviewBatchResult.DUPLICATE, null,
+                        "You already reviewed this game");
+            } else {
+                Review review = new Review();
+                review.setGame(gameRepository.getReferenceById(r.gameId()));
+                review.setUsername(r.username());
+                review.setRating(r.rating());
+                review.setComment(r.comment());
+                review.setCreatedAt(now);
+                accepted.add(review);
+                acceptedIndexes.add(i);
+                starsByGame.computeIfAbsent(r.gameId(), id -> new int[5])[r.rating() - 1]++;
+            }
+        }
+
+        store(accepted, starsByGame);
+        for (int j = 0; j < accepted.size(); j++) {
+            int i = acceptedIndexes.get(j);
+            results[i] = new ReviewBatchResult.Item(i, ReviewBatchResult.CREATED, accepted.get(j).getId(), null);
+        }
+        return new ReviewBatchResult(accepted.size(), reviews.size() - accepted.size(), Arrays.asList(results));
+    }
+
+    /**
+     * Stores reviews drained from the write-behind log with the time they were
+     * accepted, joining the caller's transaction. They were acknowledged
+     * already, so one that is invalid, names a game that no longer exists or
+     * repeats a stored or earlier (game, user) pair is logged and dropped
+     * instead of failing the batch. A pair stored concurrently by another node
+     * fails the batch with a {@link DuplicateReviewException}; retried, it is
+     * dropped as a repeat. Returns the number stored.
+     */
+    @Transactional
+    public int createLogged(List<NewReview> reviews) {
+        Set<Long> gameIds = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (NewReview r : reviews) {
+            if (r.validate() == null) {
+                gameIds.add(r.gameId());
+                usernames.add(r.username());
+            }
+        }
+        Set<Long> knownGames = gameIds.isEmpty() ? Set.of() : new HashSet<>(gameRepository.findIdsIn(gameIds));
+        Set<String> taken = new HashSet<>();
+        if (!knownGames.isEmpty()) {
+            for (ReviewRepository.ReviewKey key : reviewRepository.findKeys(knownGames, usernames)) {
+                taken.add(pairKey(key.getGameId(), key.getUsername()));
+            }
+        }
+
+        List<Review> accepted = new ArrayList<>();
+        Map<Long, int[]> starsByGame = new HashMap<>();
+        for (NewReview r : reviews) {
+            String problem = r.validate();
+            if (problem == null && !knownGames.contains(r.gameId())) {
+                problem = "Game not found";
+            } else if (problem == null && !taken.add(pairKey(r.gameId(), r.username()))) {
+                problem = "Already reviewed";
+            }
+            if (problem != null) {
+                log.warn("Dropping logged review of game {} by {}: {}", r.gameId(), r.username(), problem);
+                continue;
+            }
+            Review review = new Review();
+            review.setGame(gameRepository.getReferenceById(r.gameId()));
+            review.setUsername(r.username());
+            review.setRating(r.rating());
+            review.setComment(r.comment());
+            review.setCreatedAt(r.createdAt() != null ? r.createdAt() : LocalDateTime.now());
+            accepted.add(review);
+            starsByGame.computeIfAbsent(r.gameId(), id -> new int[5])[r.rating() - 1]++;
+        }
+        store(accepted, starsByGame);
+        return accepted.size();
+    }
+
+    private void store(List<Review> reviews, Map<Long, int[]> starsByGame) {
+        try {
+            reviewRepository.saveAll(reviews);
+            entityManager.flush();
+        } catch (DataIntegrityViolationException | PersistenceException e) {
+            throw duplicateOr(e);
+        }
+        starsByGame.forEach((gameId, stars) -> {
+            ratingAggregateService.record(gameId, stars);
+            eventPublisher.publishEvent(new ReviewsPostedEvent(gameId, Arrays.stream(stars).sum()));
+        });
+    }
+
+    // The (game, user) unique key is the only one a review insert can hit: ids come from a sequence.
+    private static RuntimeException duplicateOr(RuntimeException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && sql.getErrorCode() == MYSQL_DUPLICATE_KEY) {
+                return new DuplicateReviewException("You already reviewed this game", e);
+            }
+        }
+        return e;
+    }
+
+    // Usernames compare case-insensitively, matching the column collation used by findByGameIdAndUsername.
+    private static String pairKey(Long gameId, String username) {
+        return gameId + ":" + username.toLowerCase(Locale.ROOT);
+    }
+
+    /** createdAt is null for new reviews, which are stamped when stored. */
+    public record NewReview(Long gameId, String username, Integer rating, String comment, LocalDateTime createdAt) {
+
+        public NewReview(Long gameId, String username, Integer rating, String comment) {
+            this(gameId, username, rating, comment, null);
+        }
+
+        String validate() {
+            if (gameId == null || username == null || rating == null || comment == null) {
+                return "gameId, username, rating, and comment are required";
+            }
+            if (rating < 1 || rating > 5) {
+                return "Rating must be between 1 and 5";
+            }
+            if (username.length() > 60 || comment.length() > 2000) {
+                return "Username or comment is too long";
+            }
+            return null;
+        }
     }
 }
@@ -0,0 +1,4 @@
+package com.gameflix.gameflix.service;
+
+public record ReviewsPostedEvent(Long gameId, int count) {
+}
@@ -0,0 +1,94 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.recommend.SimilarityIndex;
+import com.gameflix.gameflix.repository.GameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "More like this" from game content. Saved games are queued and applied to
+ * the index in batches on the similarity pool, so saves and imports do not
+ * wait for the vector math and lookups never do any.
+ */
+@Service
+public class SimilarGamesService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarGamesService.class);
+
+    // Past this many queued games a full rebuild is cheaper than refreshing rows one game at a time.
+    static final int MAX_INCREMENTAL_BATCH = 1_000;
+
+    private final GameRepository gameRepository;
+    private final ForkJoinPool similarityPool;
+    private final SimilarityIndex index = new SimilarityIndex();
+    private final Map<Long, SimilarityIndex.Document> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    public SimilarGamesService(GameRepository gameRepository, ForkJoinPool similarityPool) {
+        this.gameRepository = gameRepository;
+        this.similarityPool = similarityPool;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<SimilarityIndex.Document> documents = new ArrayList<>();
+        for (GameRepository.GameText g : gameRepository.findTexts()) {
+            documents.add(new SimilarityIndex.Document(g.getId(), g.getDescription(), g.getGenre(),
+                    g.getSubscriptionTier()));
+        }
+        index.build(documents, similarityPool);
+        log.info("similar-games index built for {} games in {} ms", documents.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // After commit, so a rebuild triggered by a large batch reads the rows it was told about.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameSaved(GameSavedEvent event) {
+        Game g = event.game();
+        pending.put(g.getId(), new SimilarityIndex.Document(g.getId(), g.getDescription(), g.getGenre(),
+                g.getSubscriptionTier()));
+        if (refreshQueued.compareAndSet(false, true)) {
+            similarityPool.execute(this::refreshPending);
+        }
+    }
+
+    public List<Long> similarIds(Long gameId, int limit) {
+        return index.similar(gameId, limit);
+    }
+
+    private void refreshPending() {
+        refreshQueued.set(false);
+        List<SimilarityIndex.Document> batch = new ArrayList<>();
+        for (Long id : List.copyOf(pending.keySet())) {
+            SimilarityIndex.Document d = pending.remove(id);
+            if (d != null) {
+                batch.add(d);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (batch.size() > MAX_INCREMENTAL_BATCH) {
+                rebuild();
+            } else {
+                index.update(batch, similarityPool);
+            }
+        } catch (RuntimeException e) {
+            log.warn("similar-games refresh of {} games failed", batch.size(), e);
+        }
+    }
+}
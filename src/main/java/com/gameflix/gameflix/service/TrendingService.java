@@ -0,0 +1,95 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.trending.SlidingWindowCounter;
+import com.gameflix.gameflix.trending.TrendingBoard;
+import com.gameflix.gameflix.trending.TrendingGame;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trending games from recent library adds and reviews. Events go into
+ * in-memory sliding-window counters as they commit; a scheduled pass turns
+ * them into exponentially decayed scores and publishes a {@link TrendingBoard}
+ * that requests read as is. Each node counts the events it served.
+ */
+@Service
+public class TrendingService {
+
+    public static final int MAX_TRENDING = 50;
+    // Writing a review takes more commitment than adding a game, so it counts double.
+    static final int LIBRARY_ADD_WEIGHT = 1;
+    static final int REVIEW_WEIGHT = 2;
+    // Games looked up per pass; enough to fill every genre and tier list.
+    static final int MAX_SCORED = 5_000;
+
+    private final GameService gameService;
+    private final SlidingWindowCounter counter;
+    private final double[] decayByAge;
+    private volatile TrendingBoard board = TrendingBoard.EMPTY;
+
+    public TrendingService(GameService gameService,
+                           @Value("${gameflix.trending.bucket:1h}") Duration bucket,
+                           @Value("${gameflix.trending.buckets:48}") int buckets,
+                           @Value("${gameflix.trending.half-life:12h}") Duration halfLife) {
+        this.gameService = gameService;
+        this.counter = new SlidingWindowCounter(buckets, bucket.toMillis());
+        this.decayByAge = new double[buckets];
+        for (int age = 0; age < buckets; age++) {
+            decayByAge[age] = Math.pow(0.5, (double) age * bucket.toMillis() / halfLife.toMillis());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLibraryEntryAdded(LibraryEntryAddedEvent event) {
+        counter.record(event.gameId(), LIBRARY_ADD_WEIGHT, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener
+    public void onReviewsPosted(ReviewsPostedEvent event) {
+        counter.record(event.gameId(), REVIEW_WEIGHT * event.count(), System.currentTimeMillis());
+    }
+
+    @Scheduled(fixedDelayString = "${gameflix.trending.refresh:60s}")
+    public void refresh() {
+        List<Scored> scored = new ArrayList<>();
+        counter.forEach(System.currentTimeMillis(), (gameId, countsByAge) -> {
+            double score = 0;
+            for (int age = 0; age < countsByAge.length; age++) {
+                score += countsByAge[age] * decayByAge[age];
+            }
+            scored.add(new Scored(gameId, score));
+        });
+        scored.sort(Comparator.comparingDouble(Scored::score).reversed().thenComparingLong(Scored::gameId));
+
+        List<Scored> top = scored.size() > MAX_SCORED ? scored.subList(0, MAX_SCORED) : scored;
+        Map<Long, Double> scores = new HashMap<>();
+        top.forEach(t -> scores.put(t.gameId(), t.score()));
+        List<TrendingGame> ranked = new ArrayList<>(top.size());
+        for (GameSummary g : gameService.findSummariesInOrder(top.stream().map(Scored::gameId).toList())) {
+            ranked.add(new TrendingGame(g, scores.get(g.id())));
+        }
+        board = TrendingBoard.of(ranked, MAX_TRENDING);
+    }
+
+    /** Cached trending games; genre is case-insensitive, tier a canonical {@code PlanTier}, null for any. */
+    public List<TrendingGame> trending(String genre, String tier, int limit) {
+        return board.top(genre, tier, Math.min(limit, MAX_TRENDING));
+    }
+
+    public List<String> genres() {
+        return board.genres();
+    }
+
+    private record Scored(long gameId, double score) {
+    }
+}
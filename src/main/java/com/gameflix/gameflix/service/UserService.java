@@ -2,7 +2,6 @@ package com.gameflix.gameflix.service;
 
 import com.gameflix.gameflix.model.User;
 import com.gameflix.gameflix.repository.UserRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -11,11 +10,11 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepo;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
-    public UserService(UserRepository userRepo, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepo, PasswordHasher passwordHasher) {
         this.userRepo = userRepo;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
     public boolean usernameExists(String username) {
@@ -23,7 +22,7 @@ public class UserService {
     }
 
     public User register(String username, String rawPassword) {
-        String hash = passwordEncoder.encode(rawPassword);
+        String hash = passwordHasher.encode(rawPassword);
         User u = new User();
         u.setUsername(username);
         u.setPasswordHash(hash);
@@ -31,7 +30,22 @@ public class UserService {
     }
 
     public boolean login(String username, String rawPassword) {
+        if (rawPassword == null) {
+            return false;
+        }
         Optional<User> u = userRepo.findByUsername(username);
-        return u.isPresent() && passwordEncoder.matches(rawPassword, u.get().getPasswordHash());
+        if (u.isEmpty()) {
+            return passwordHasher.matchesNothing(rawPassword);
+        }
+        User user = u.get();
+        if (!passwordHasher.matches(rawPassword, user.getPasswordHash())) {
+            return false;
+        }
+        // The raw password is only available here, so hashes move to a new cost as users sign in.
+        if (passwordHasher.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHasher.encode(rawPassword));
+            userRepo.save(user);
+        }
+        return true;
     }
 }
@@ -0,0 +1,335 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.ReviewLogCheckpoint;
+import com.gameflix.gameflix.repository.ReviewLogCheckpointRepository;
+import com.gameflix.gameflix.reviewlog.LoggedReview;
+import com.gameflix.gameflix.reviewlog.ReviewLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind review posting. A review is acknowledged once it is synced to
+ * the local {@link ReviewLog}; a drainer thread inserts logged reviews in
+ * batches and advances the log's checkpoint row in the same transaction, so
+ * the log replayed after a restart resumes exactly where the table stops.
+ * At most capacity reviews wait to be drained: posters block up to the
+ * admission timeout for room and are then turned away, which keeps a slow
+ * database from growing the backlog without bound. A batch that keeps
+ * failing while the database answers is split in halves, and a single review
+ * that still fails is moved to review_log_quarantine, so one bad row cannot
+ * stall the log.
+ */
+@Service
+@ConditionalOnProperty(name = "gameflix.reviews.write-behind.enabled", havingValue = "true")
+public class WriteBehindReviewIntake implements ReviewIntake {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindReviewIntake.class);
+
+    private static final long MAX_RETRY_MILLIS = 30_000;
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+    // Failed attempts at one batch before checking whether it, rather than the database, is the problem;
+    // once it is, each part is split or quarantined on its first failure, without backing off.
+    static final int MAX_ATTEMPTS = 5;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ReviewService reviewService;
+    private final ReviewLogCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReviewLog reviewLog;
+    private final int batchSize;
+    private final Duration admissionTimeout;
+    private final long minRetryMillis;
+    private final Capacity capacity;
+    private final Counter quarantined;
+    private final BlockingQueue<LoggedReview> undrained = new LinkedBlockingQueue<>();
+    // (game, user) pairs accepted but not stored yet, with how many of each are waiting.
+    private final Map<String, Integer> waiting = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private Thread drainer;
+
+    public WriteBehindReviewIntake(ReviewService reviewService,
+                                   ReviewLogCheckpointRepository checkpointRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${gameflix.reviews.write-behind.dir:review-log}") Path dir,
+                                   @Value("${gameflix.reviews.write-behind.segment-size:64MB}") DataSize segmentSize,
+                                   @Value("${gameflix.reviews.write-behind.capacity:10000}") int capacity,
+                                   @Value("${gameflix.reviews.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${gameflix.reviews.write-behind.admission-timeout:2s}") Duration admissionTimeout,
+                                   @Value("${gameflix.reviews.write-behind.retry-backoff:500ms}") Duration retryBackoff)
+            throws IOException {
+        this.reviewService = reviewService;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reviewLog = ReviewLog.open(dir, segmentSize.toBytes());
+        this.batchSize = Math.min(batchSize, ReviewService.MAX_BATCH_SIZE);
+        this.admissionTimeout = admissionTimeout;
+        this.minRetryMillis = Math.max(1, retryBackoff.toMillis());
+        this.capacity = new Capacity(capacity);
+        Gauge.builder("gameflix.reviews.write-behind.backlog", undrained, BlockingQueue::size)
+                .description("Logged reviews not yet stored in the database")
+                .register(meterRegistry);
+        Gauge.builder("gameflix.reviews.write-behind.free-capacity", this.capacity, Semaphore::availablePermits)
+                .description("Reviews that can still be accepted before posters wait; negative after a large replay")
+                .register(meterRegistry);
+        this.quarantined = Counter.builder("gameflix.reviews.write-behind.quarantined")
+                .description("Logged reviews moved to review_log_quarantine after failing on their own")
+                .register(meterRegistry);
+    }
+
+    // Before the web server takes requests, so replayed reviews are ahead of new ones.
+    @PostConstruct
+    public void start() throws IOException {
+        long drained = checkpointRepository.findById(reviewLog.id())
+                .map(ReviewLogCheckpoint::getDrainedSeq)
+                .orElse(0L);
+        reviewLog.release(drained);
+        reviewLog.replay(drained, r -> {
+            undrained.add(r);
+            waiting.merge(key(r.gameId(), r.username()), 1, Integer::sum);
+        });
+        // Replayed reviews are admitted regardless of capacity; new posts wait until they drain.
+        capacity.take(undrained.size());
+        if (!undrained.isEmpty()) {
+            log.info("Replaying {} logged reviews after seq {} from review log {}", undrained.size(), drained,
+                    reviewLog.id());
+        }
+        reviewLog.start(undrained::addAll);
+        drainer = Thread.ofPlatform().name("review-log-drain").daemon(true).start(this::drainLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        reviewLog.close();
+        running = false;
+        if (drainer != null) {
+            try {
+                drainer.join(SHUTDOWN_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!undrained.isEmpty()) {
+            log.info("{} logged reviews left to replay on the next start", undrained.size());
+        }
+    }
+
+    @Override
+    public Long submit(Game game, String username, int rating, String comment) {
+        String problem = new ReviewService.NewReview(game.getId(), username, rating, comment).validate();
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        // Claiming the pair atomically turns away a concurrent second post on this node, and the
+        // claim holder then turns away a stored one; the drainer drops repeats accepted by other
+        // nodes or stored while the table could not be read.
+        String key = key(game.getId(), username);
+        if (waiting.putIfAbsent(key, 1) != null) {
+            throw new DuplicateReviewException("You already reviewed this game");
+        }
+        if (isStored(game.getId(), username)) {
+            unclaim(key);
+            throw new DuplicateReviewException("You already reviewed this game");
+        }
+        try {
+            if (!capacity.tryAcquire(admissionTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                unclaim(key);
+                throw new ReviewBacklogFullException("Too many reviews are waiting to be saved");
+            }
+        } catch (InterruptedException e) {
+            unclaim(key);
+            Thread.currentThread().interrupt();
+            throw new ReviewBacklogFullException("Interrupted while waiting to accept the review", e);
+        }
+        try {
+            reviewLog.append(game.getId(), username, rating, comment, LocalDateTime.now()).join();
+            return null;
+        } catch (RuntimeException e) {
+            capacity.release();
+            unclaim(key);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IllegalArgumentException iae) {
+                throw iae;
+            }
+            throw new ReviewLogUnavailableException("Could not log review", cause);
+        }
+    }
+
+    @Override
+    public boolean hasReviewed(Long gameId, String username) {
+        return waiting.containsKey(key(gameId, username)) || reviewService.existsForUser(gameId, username);
+    }
+
+    // An unreadable table does not turn the post away: accepting while the database is slow
+    // or down is what the log is for.
+    private boolean isStored(Long gameId, String username) {
+        try {
+            return reviewService.existsForUser(gameId, username);
+        } catch (DataAccessException e) {
+            log.debug("Could not check for a stored review of game {} by {}", gameId, username, e);
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<LoggedReview> batch = new ArrayList<>(batchSize);
+        // Later halves of split batches, next in log order, so the checkpoint only moves forward.
+        Deque<List<LoggedReview>> halves = new ArrayDeque<>();
+        long retryMillis = minRetryMillis;
+        int attempts = 0;
+        // Set once a failure is blamed on the batch: its parts are then split on their first failure.
+        boolean bisecting = false;
+        // Once stopping, whatever is still queued gets one attempt; the rest is replayed next start.
+        while (running || !batch.isEmpty() || !halves.isEmpty() || !undrained.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    if (!halves.isEmpty()) {
+                        batch.addAll(halves.pop());
+                    } else {
+                        LoggedReview first = undrained.poll(1, TimeUnit.SECONDS);
+                        if (first == null) {
+                            continue;
+                        }
+                        batch.add(first);
+                        undrained.drainTo(batch, batchSize - 1);
+                    }
+                }
+                drain(batch);
+                batch.clear();
+                retryMillis = minRetryMillis;
+                attempts = 0;
+                bisecting = !halves.isEmpty();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Could not drain {} logged reviews while stopping", batch.size(), e);
+                    return;
+                }
+                if ((bisecting || ++attempts >= MAX_ATTEMPTS) && databaseAnswers()) {
+                    bisecting = true;
+                    attempts = 0;
+                    retryMillis = minRetryMillis;
+                    if (batch.size() > 1) {
+                        int half = batch.size() / 2;
+                        log.warn("Draining {} logged reviews keeps failing, splitting the batch", batch.size(), e);
+                        halves.push(new ArrayList<>(batch.subList(half, batch.size())));
+                        batch.subList(half, batch.size()).clear();
+                        continue;
+                    }
+                    try {
+                        quarantine(batch.get(0), e);
+                        batch.clear();
+                        bisecting = !halves.isEmpty();
+                        continue;
+                    } catch (RuntimeException qe) {
+                        log.warn("Could not quarantine logged review seq {}", batch.get(0).seq(), qe);
+                    }
+                }
+                log.warn("Draining {} logged reviews failed, retrying in {} ms", batch.size(), retryMillis, e);
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            }
+        }
+    }
+
+    // A failure while the checkpoint can still be read points at the batch, not at the database.
+    private boolean databaseAnswers() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> checkpointRepository.findById(reviewLog.id()));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void quarantine(LoggedReview r, RuntimeException cause) {
+        String error = String.valueOf(cause.getMessage());
+        String reason = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        transactionTemplate.executeWithoutResult(status -> {
+            checkpointRepository.quarantine(reviewLog.id(), r.seq(), r.gameId(), r.username(), r.rating(),
+                    r.comment(), r.createdAt(), reason, LocalDateTime.now());
+            checkpointRepository.advance(reviewLog.id(), r.seq());
+        });
+        log.error("Quarantined logged review seq {} of game {} by {} after it failed on its own: {}",
+                r.seq(), r.gameId(), r.username(), reason);
+        quarantined.increment();
+        reviewLog.release(r.seq());
+        unclaim(key(r.gameId(), r.username()));
+        capacity.release(1);
+    }
+
+    private void drain(List<LoggedReview> batch) {
+        long lastSeq = batch.get(batch.size() - 1).seq();
+        List<ReviewService.NewReview> reviews = batch.stream()
+                .map(r -> new ReviewService.NewReview(r.gameId(), r.username(), r.rating(), r.comment(),
+                        r.createdAt()))
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            reviewService.createLogged(reviews);
+            checkpointRepository.advance(reviewLog.id(), lastSeq);
+        });
+        reviewLog.release(lastSeq);
+        for (LoggedReview r : batch) {
+            unclaim(key(r.gameId(), r.username()));
+        }
+        capacity.release(batch.size());
+    }
+
+    private void unclaim(String key) {
+        waiting.computeIfPresent(key, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    // Usernames compare case-insensitively, as in the reviews table.
+    private static String key(long gameId, String username) {
+        return gameId + ":" + username.toLowerCase(Locale.ROOT);
+    }
+
+    /** A semaphore that replayed reviews can overdraw. */
+    private static final class Capacity extends Semaphore {
+
+        Capacity(int permits) {
+            super(permits);
+        }
+
+        void take(int permits) {
+            reducePermits(permits);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gameflix.gameflix.session;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Attribute codec for the JDBC store. Strings (username, planTier, pendingPlan)
+ * are written as a one-byte tag plus UTF-8 instead of a Java serialization
+ * stream; anything else still goes through Java serialization. A Java stream
+ * always starts with 0xACED, so rows written before this codec still read back.
+ */
+public class CompactSessionSerializer {
+
+    static final byte STRING = 1;
+
+    private final SerializingConverter javaSerializer = new SerializingConverter();
+    private final DeserializingConverter javaDeserializer;
+    private final SessionWriteMetrics metrics;
+
+    public CompactSessionSerializer(ClassLoader classLoader, SessionWriteMetrics metrics) {
+        this.javaDeserializer = new DeserializingConverter(classLoader);
+        this.metrics = metrics;
+    }
+
+    public byte[] serialize(Object value) {
+        byte[] bytes;
+        if (value instanceof String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            bytes = new byte[utf8.length + 1];
+            bytes[0] = STRING;
+            System.arraycopy(utf8, 0, bytes, 1, utf8.length);
+        } else {
+            bytes = javaSerializer.convert(value);
+        }
+        metrics.serialized(bytes.length);
+        return bytes;
+    }
+
+    public Object deserialize(byte[] bytes) {
+        if (bytes.length > 0 && bytes[0] == STRING) {
+            return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+        }
+        return javaDeserializer.convert(bytes);
+    }
+
+    public ConversionService conversionService() {
+        GenericConversionService conversionService = new GenericConversionService();
+        conversionService.addConverter(Object.class, byte[].class, this::serialize);
+        conversionService.addConverter(byte[].class, Object.class, this::deserialize);
+        return conversionService;
+    }
+}
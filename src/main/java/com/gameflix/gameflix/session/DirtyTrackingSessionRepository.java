@@ -0,0 +1,49 @@
+package com.gameflix.gameflix.session;
+
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+
+import java.time.Duration;
+
+/**
+ * Front for any {@link SessionRepository} (in-memory or JDBC) that hands a
+ * session back to the store only when {@link TrackedSession} saw a change.
+ */
+public class DirtyTrackingSessionRepository<S extends Session> implements SessionRepository<TrackedSession<S>> {
+
+    private final SessionRepository<S> store;
+    private final Duration touchInterval;
+    private final SessionWriteMetrics metrics;
+
+    public DirtyTrackingSessionRepository(SessionRepository<S> store, Duration touchInterval, SessionWriteMetrics metrics) {
+        this.store = store;
+        this.touchInterval = touchInterval;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public TrackedSession<S> createSession() {
+        return new TrackedSession<>(store.createSession(), touchInterval, metrics, true);
+    }
+
+    @Override
+    public void save(TrackedSession<S> session) {
+        if (!session.isDirty()) {
+            return;
+        }
+        store.save(session.delegate());
+        session.markClean();
+        metrics.saved();
+    }
+
+    @Override
+    public TrackedSession<S> findById(String id) {
+        S session = store.findById(id);
+        return session != null ? new TrackedSession<>(session, touchInterval, metrics, false) : null;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        store.deleteById(id);
+    }
+}
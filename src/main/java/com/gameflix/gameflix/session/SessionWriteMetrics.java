@@ -0,0 +1,62 @@
+package com.gameflix.gameflix.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counters behind the session store: what reached the backend and what the
+ * dirty tracking kept away from it. Rates come from the counters' deltas.
+ */
+public class SessionWriteMetrics {
+
+    private final Counter attributeWrites;
+    private final Counter attributeSkips;
+    private final Counter touches;
+    private final Counter saves;
+    private final DistributionSummary attributeBytes;
+
+    public SessionWriteMetrics(MeterRegistry meterRegistry, String store) {
+        this.attributeWrites = Counter.builder("gameflix.session.attribute.writes")
+                .description("Session attributes set or removed with a changed value")
+                .tag("store", store)
+                .register(meterRegistry);
+        this.attributeSkips = Counter.builder("gameflix.session.attribute.skipped")
+                .description("Session attribute sets dropped because the value was unchanged")
+                .tag("store", store)
+                .register(meterRegistry);
+        this.touches = Counter.builder("gameflix.session.touches")
+                .description("Last-access updates passed through to the store")
+                .tag("store", store)
+                .register(meterRegistry);
+        this.saves = Counter.builder("gameflix.session.saves")
+                .description("Sessions handed to the store at the end of a request with pending changes")
+                .tag("store", store)
+                .register(meterRegistry);
+        this.attributeBytes = DistributionSummary.builder("gameflix.session.attribute.bytes")
+                .description("Serialized size of each session attribute written")
+                .baseUnit("bytes")
+                .tag("store", store)
+                .register(meterRegistry);
+    }
+
+    void attributeWritten() {
+        attributeWrites.increment();
+    }
+
+    void attributeSkipped() {
+        attributeSkips.increment();
+    }
+
+    void touched() {
+        touches.increment();
+    }
+
+    void saved() {
+        saves.increment();
+    }
+
+    void serialized(int bytes) {
+        attributeBytes.record(bytes);
+    }
+}
@@ -0,0 +1,133 @@
+package com.gameflix.gameflix.session;
+
+import org.springframework.session.Session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Wraps a store session and forwards only real changes to it. Setting an
+ * immutable value equal to the current one is dropped, and last-access updates
+ * are coalesced to one per touch interval, so a request that reads the session
+ * without changing it leaves nothing for the store to write.
+ */
+public final class TrackedSession<S extends Session> implements Session {
+
+    private final S delegate;
+    private final Duration touchInterval;
+    private final SessionWriteMetrics metrics;
+    private boolean dirty;
+
+    TrackedSession(S delegate, Duration touchInterval, SessionWriteMetrics metrics, boolean isNew) {
+        this.delegate = delegate;
+        this.touchInterval = touchInterval;
+        this.metrics = metrics;
+        this.dirty = isNew;
+    }
+
+    S delegate() {
+        return delegate;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public String changeSessionId() {
+        dirty = true;
+        return delegate.changeSessionId();
+    }
+
+    @Override
+    public <T> T getAttribute(String attributeName) {
+        return delegate.getAttribute(attributeName);
+    }
+
+    @Override
+    public Set<String> getAttributeNames() {
+        return delegate.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String attributeName, Object attributeValue) {
+        if (attributeValue == null) {
+            removeAttribute(attributeName);
+            return;
+        }
+        // Mutable values (flash maps, lists) may have been changed in place, so only
+        // value types can be compared safely against what the store already holds.
+        if (isValueType(attributeValue) && Objects.equals(attributeValue, delegate.getAttribute(attributeName))) {
+            metrics.attributeSkipped();
+            return;
+        }
+        delegate.setAttribute(attributeName, attributeValue);
+        dirty = true;
+        metrics.attributeWritten();
+    }
+
+    @Override
+    public void removeAttribute(String attributeName) {
+        if (delegate.getAttribute(attributeName) == null) {
+            return;
+        }
+        delegate.removeAttribute(attributeName);
+        dirty = true;
+        metrics.attributeWritten();
+    }
+
+    @Override
+    public Instant getCreationTime() {
+        return delegate.getCreationTime();
+    }
+
+    @Override
+    public void setLastAccessedTime(Instant lastAccessedTime) {
+        if (Duration.between(delegate.getLastAccessedTime(), lastAccessedTime).compareTo(touchInterval) < 0) {
+            return;
+        }
+        delegate.setLastAccessedTime(lastAccessedTime);
+        dirty = true;
+        metrics.touched();
+    }
+
+    @Override
+    public Instant getLastAccessedTime() {
+        return delegate.getLastAccessedTime();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(Duration interval) {
+        if (interval.equals(delegate.getMaxInactiveInterval())) {
+            return;
+        }
+        delegate.setMaxInactiveInterval(interval);
+        dirty = true;
+    }
+
+    @Override
+    public Duration getMaxInactiveInterval() {
+        return delegate.getMaxInactiveInterval();
+    }
+
+    @Override
+    public boolean isExpired() {
+        return delegate.isExpired();
+    }
+
+    private static boolean isValueType(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Enum<?>;
+    }
+}
@@ -0,0 +1,95 @@
+package com.gameflix.gameflix.trending;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-game event counts over a ring of fixed-width time buckets. Each slot
+ * packs its bucket number and count into one long, so recording is a single
+ * CAS and a slot still holding an older lap of the ring resets itself on the
+ * next write. Every bucket is striped over {@link #STRIPES} slots picked by
+ * thread, so writers bumping the same hot game rarely contend on one word.
+ */
+public class SlidingWindowCounter {
+
+    static final int STRIPES = 4;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int buckets;
+    private final long bucketMillis;
+    private final ConcurrentHashMap<Long, AtomicLongArray> windows = new ConcurrentHashMap<>();
+
+    public SlidingWindowCounter(int buckets, long bucketMillis) {
+        if (buckets < 1 || bucketMillis < 1) {
+            throw new IllegalArgumentException("buckets and bucketMillis must be positive");
+        }
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+
+    public void record(long gameId, int weight, long nowMillis) {
+        AtomicLongArray window = windows.computeIfAbsent(gameId, k -> new AtomicLongArray(buckets * STRIPES));
+        long bucket = nowMillis / bucketMillis;
+        int slot = (int) (bucket % buckets) * STRIPES + ((int) Thread.currentThread().threadId() & (STRIPES - 1));
+        while (true) {
+            long current = window.get(slot);
+            long next;
+            if (current >>> COUNT_BITS == bucket) {
+                next = (current & COUNT_MASK) + weight > COUNT_MASK ? current | COUNT_MASK : current + weight;
+            } else {
+                next = bucket << COUNT_BITS | Math.min(weight, COUNT_MASK);
+            }
+            if (current == next || window.compareAndSet(slot, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Hands each game's counts to the consumer indexed by age in buckets (0 is
+     * the current one), and drops games with nothing left in the window.
+     */
+    public void forEach(long nowMillis, WindowConsumer consumer) {
+        long now = nowMillis / bucketMillis;
+        long[] byAge = new long[buckets];
+        Iterator<Map.Entry<Long, AtomicLongArray>> it = windows.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, AtomicLongArray> e = it.next();
+            AtomicLongArray window = e.getValue();
+            boolean any = false;
+            Arrays.fill(byAge, 0);
+            for (int i = 0; i < window.length(); i++) {
+                long v = window.get(i);
+                long age = now - (v >>> COUNT_BITS);
+                long count = v & COUNT_MASK;
+                if (count > 0 && age >= 0 && age < buckets) {
+                    byAge[(int) age] += count;
+                    any = true;
+                }
+            }
+            if (any) {
+                consumer.accept(e.getKey(), byAge);
+            } else {
+                // A write racing this removal lands in a window no longer in the map and is lost;
+                // it was the only event for that game in the whole window.
+                it.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    public interface WindowConsumer {
+        void accept(long gameId, long[] countsByAge);
+    }
+}
@@ -0,0 +1,80 @@
+package com.gameflix.gameflix.trending;
+
+import com.gameflix.gameflix.model.PlanTier;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trending lists for every genre, tier and genre/tier pair seen in
+ * one scoring pass, so a lookup is a map read.
+ */
+public final class TrendingBoard {
+
+    public static final TrendingBoard EMPTY = new TrendingBoard(Map.of(), List.of());
+
+    private static final String ANY = "*";
+
+    private final Map<String, List<TrendingGame>> lists;
+    private final List<String> genres;
+
+    private TrendingBoard(Map<String, List<TrendingGame>> lists, List<String> genres) {
+        this.lists = lists;
+        this.genres = genres;
+    }
+
+    /** Builds the board from games ranked best first, keeping at most perList games per list. */
+    public static TrendingBoard of(List<TrendingGame> ranked, int perList) {
+        Map<String, List<TrendingGame>> lists = new HashMap<>();
+        Map<String, String> genres = new TreeMap<>();
+        for (TrendingGame t : ranked) {
+            String genre = genreKey(t.game().genre());
+            String tier = PlanTier.normalize(t.game().subscriptionTier());
+            add(lists, key(ANY, ANY), t, perList);
+            if (genre != null) {
+                genres.putIfAbsent(genre, t.game().genre().trim());
+                add(lists, key(genre, ANY), t, perList);
+            }
+            if (tier != null) {
+                add(lists, key(ANY, tier), t, perList);
+            }
+            if (genre != null && tier != null) {
+                add(lists, key(genre, tier), t, perList);
+            }
+        }
+        Map<String, List<TrendingGame>> frozen = new HashMap<>();
+        lists.forEach((k, v) -> frozen.put(k, List.copyOf(v)));
+        return new TrendingBoard(frozen, List.copyOf(genres.values()));
+    }
+
+    /** Top games for a genre and a canonical tier; null means any. */
+    public List<TrendingGame> top(String genre, String tier, int limit) {
+        String genreKey = genre == null || genre.isBlank() ? ANY : genreKey(genre);
+        List<TrendingGame> list = lists.getOrDefault(key(genreKey, tier == null ? ANY : tier), List.of());
+        return list.size() > limit ? list.subList(0, limit) : list;
+    }
+
+    /** Display names of the genres that have trending games, alphabetically. */
+    public List<String> genres() {
+        return genres;
+    }
+
+    private static void add(Map<String, List<TrendingGame>> lists, String key, TrendingGame t, int perList) {
+        List<TrendingGame> list = lists.computeIfAbsent(key, k -> new ArrayList<>());
+        if (list.size() < perList) {
+            list.add(t);
+        }
+    }
+
+    private static String genreKey(String genre) {
+        return genre == null || genre.isBlank() ? null : genre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(String genre, String tier) {
+        return genre + '|' + tier;
+    }
+}
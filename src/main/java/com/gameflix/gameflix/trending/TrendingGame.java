@@ -0,0 +1,7 @@
+package com.gameflix.gameflix.trending;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.gameflix.gameflix.model.GameSummary;
+
+public record TrendingGame(@JsonUnwrapped GameSummary game, double score) {
+}
@@ -0,0 +1,45 @@
+-- Schema as previously generated by hibernate ddl-auto=update.
+-- Existing databases are baselined at this version and skip it.
+
+create table games (
+    id bigint not null auto_increment,
+    title varchar(150) not null,
+    genre varchar(80),
+    description varchar(4000),
+    cover_url varchar(500),
+    hero_url varchar(500),
+    rating_avg float(53),
+    subscription_tier varchar(20),
+    primary key (id)
+) engine=InnoDB;
+
+create table reviews (
+    id bigint not null auto_increment,
+    game_id bigint not null,
+    username varchar(60) not null,
+    rating integer not null,
+    comment varchar(2000) not null,
+    created_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table library_entries (
+    id bigint not null auto_increment,
+    username varchar(60) not null,
+    game_id bigint not null,
+    added_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(50) not null,
+    password_hash varchar(60) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table reviews
+    add constraint FK1cmcqkmc8g630wpn52m1mv8re foreign key (game_id) references games (id);
+
+alter table library_entries
+    add constraint FK70wtsrkqufn7gsker8ydq2pw6 foreign key (game_id) references games (id);
@@ -0,0 +1,40 @@
+-- Per-game rating aggregates, seeded from existing reviews.
+create table game_ratings (
+    game_id bigint not null,
+    review_count bigint not null,
+    rating_sum bigint not null,
+    stars_1 bigint not null,
+    stars_2 bigint not null,
+    stars_3 bigint not null,
+    stars_4 bigint not null,
+    stars_5 bigint not null,
+    primary key (game_id)
+) engine=InnoDB;
+
+insert into game_ratings (game_id, review_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5)
+select r.game_id, count(*), sum(r.rating),
+       sum(case when r.rating = 1 then 1 else 0 end), sum(case when r.rating = 2 then 1 else 0 end),
+       sum(case when r.rating = 3 then 1 else 0 end), sum(case when r.rating = 4 then 1 else 0 end),
+       sum(case when r.rating = 5 then 1 else 0 end)
+from reviews r
+group by r.game_id;
+
+update games set rating_avg =
+    (select r.rating_sum * 1.0 / r.review_count from game_ratings r where r.game_id = games.id);
+
+-- Optimistic version and last-modified time used for ETags.
+alter table games add column version bigint not null default 0;
+alter table games add column updated_at datetime(6);
+update games set updated_at = current_timestamp(6);
+
+-- Pooled id sequences (allocation size 50) for batched inserts, started past the existing
+-- AUTO_INCREMENT ids so the first allocated block cannot collide with them.
+create table games_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into games_seq (next_val) select coalesce(max(id), 0) + 51 from games;
+
+create table reviews_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into reviews_seq (next_val) select coalesce(max(id), 0) + 51 from reviews;
@@ -0,0 +1,21 @@
+-- One index per repository access path; QueryPlanTest checks that none of them scans a full table.
+
+-- GameRepository: title keyset pages, existsByTitle/findTitlesIn; rating pages; catalog version.
+create index idx_games_title_id on games (title, id);
+create index idx_games_rating_id on games (rating_avg, id);
+create index idx_games_updated_at on games (updated_at);
+
+-- ReviewRepository: per-game pages, global pages, findByGameIdAndUsername/findKeys.
+create index idx_reviews_game_created on reviews (game_id, created_at, id);
+create index idx_reviews_created on reviews (created_at, id);
+create index idx_reviews_game_user on reviews (game_id, username);
+
+-- LibraryRepository: insertIfAbsent/exists/findByUsername via the unique key, library pages by date.
+-- Older rows may hold duplicates from the check-then-insert add path; keep the first of each.
+delete from library_entries where id not in (select keep_id from
+    (select min(id) as keep_id from library_entries group by username, game_id) k);
+alter table library_entries add constraint uk_library_user_game unique (username, game_id);
+create index idx_library_user_added on library_entries (username, added_at, id);
+
+-- UserRepository.findByUsername on every login.
+create index idx_users_username on users (username);
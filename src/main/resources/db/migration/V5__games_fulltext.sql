@@ -0,0 +1,5 @@
+-- FULLTEXT indexes behind gameflix.search.backend=fulltext: one for matching over all
+-- searchable columns, one on title alone for the title boost in the ranking.
+-- InnoDB builds one FULLTEXT index per statement.
+alter table games add fulltext index ft_games_text (title, genre, description);
+alter table games add fulltext index ft_games_title (title);
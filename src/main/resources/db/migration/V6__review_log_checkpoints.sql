@@ -0,0 +1,8 @@
+-- How far each node's write-behind review log (gameflix.reviews.write-behind) has been drained
+-- into reviews. Advanced in the same transaction as the drained rows, so a replay after a crash
+-- skips exactly what was already inserted.
+create table review_log_checkpoints (
+    log_id varchar(36) not null,
+    drained_seq bigint not null,
+    primary key (log_id)
+) engine=InnoDB;
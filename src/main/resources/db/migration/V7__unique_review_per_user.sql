@@ -0,0 +1,34 @@
+-- One review per user and game, enforced by the database so that concurrent posts cannot both
+-- pass the application's existence check. Replaces the plain idx_reviews_game_user lookup index.
+
+-- Older rows may hold duplicates from the check-then-insert post path; keep the first of each
+-- and rebuild the rating aggregates of the games that lost reviews.
+create temporary table review_dup_games engine=InnoDB as
+    select distinct game_id from reviews group by game_id, username having count(*) > 1;
+
+delete from reviews where id not in (select keep_id from
+    (select min(id) as keep_id from reviews group by game_id, username) k);
+
+update game_ratings gr join (
+    select r.game_id, count(*) as review_count, sum(r.rating) as rating_sum,
+           sum(case when r.rating = 1 then 1 else 0 end) as stars_1,
+           sum(case when r.rating = 2 then 1 else 0 end) as stars_2,
+           sum(case when r.rating = 3 then 1 else 0 end) as stars_3,
+           sum(case when r.rating = 4 then 1 else 0 end) as stars_4,
+           sum(case when r.rating = 5 then 1 else 0 end) as stars_5
+    from reviews r join review_dup_games d on d.game_id = r.game_id
+    group by r.game_id) a on a.game_id = gr.game_id
+set gr.review_count = a.review_count, gr.rating_sum = a.rating_sum,
+    gr.stars_1 = a.stars_1, gr.stars_2 = a.stars_2, gr.stars_3 = a.stars_3,
+    gr.stars_4 = a.stars_4, gr.stars_5 = a.stars_5;
+
+update games g join review_dup_games d on d.game_id = g.id
+set g.rating_avg = (select r.rating_sum * 1.0 / r.review_count from game_ratings r where r.game_id = g.id),
+    g.updated_at = current_timestamp(6);
+
+drop temporary table review_dup_games;
+
+-- Same collation as the column, so usernames stay unique case-insensitively.
+alter table reviews
+    add constraint uk_reviews_game_user unique (game_id, username),
+    drop index idx_reviews_game_user;
@@ -0,0 +1,15 @@
+-- Logged reviews the write-behind drainer could not insert even one at a time while the database
+-- was reachable. Moved here in the same transaction that advances the log's checkpoint, so the
+-- rest of the log keeps draining; kept loosely typed for inspection and manual re-entry.
+create table review_log_quarantine (
+    log_id varchar(36) not null,
+    seq bigint not null,
+    game_id bigint not null,
+    username varchar(255) not null,
+    rating integer not null,
+    comment text not null,
+    created_at datetime(6),
+    error varchar(1000),
+    quarantined_at datetime(6) not null,
+    primary key (log_id, seq)
+) engine=InnoDB;
@@ -0,0 +1,5 @@
+-- RelatedGamesService.rebuild keeps each library's most recent games, like the incremental path;
+-- streaming pairs newest first per user reads this index backwards, covered by game_id.
+alter table library_entries
+    add index idx_library_user_added_game (username, added_at, id, game_id),
+    drop index idx_library_user_added;
@@ -0,0 +1,75 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.search.CatalogSearchIndex;
+import com.gameflix.gameflix.search.SearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the catalog inverted index against the original stream filter from
+ * GamePageController. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.CatalogSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int catalogSize;
+
+    @Param({"dragon", "neon knight"})
+    public String query;
+
+    private List<Game> games;
+    private CatalogSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        games = SyntheticCatalog.generate(catalogSize, 42L);
+        index = new CatalogSearchIndex();
+        for (Game g : games) {
+            index.index(g.getId(), g.getTitle(), g.getGenre(), g.getDescription());
+        }
+    }
+
+    @Benchmark
+    public List<Game> streamFilter() {
+        final String term = query.toLowerCase();
+        return games.stream()
+                .filter(g -> (g.getTitle() != null && g.getTitle().toLowerCase().contains(term)) ||
+                             (g.getDescription() != null && g.getDescription().toLowerCase().contains(term)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<SearchHit> invertedIndex() {
+        return index.search(query, 500);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.search.FulltextQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the original GamePageController stream filter with the FULLTEXT
+ * query behind gameflix.search.backend=fulltext. The synthetic catalog is
+ * loaded into a scratch bench_games table carrying the same indexes as V5;
+ * "lighthouse" appears in one game in a thousand, the other queries in most
+ * of them, which is the worst case for a ranked FULLTEXT match. The connection defaults to the application datasource and can be changed
+ * with -Dbench.jdbc.url / -Dbench.jdbc.user / -Dbench.jdbc.password. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.FulltextSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FulltextSearchBenchmark {
+
+    private static final String TABLE = "bench_games";
+    private static final String RARE_WORD = "lighthouse";
+    private static final String SEARCH = "select g.id, "
+            + "match(g.title) against (? in boolean mode) * 3 "
+            + "+ match(g.title, g.genre, g.description) against (? in boolean mode) as score "
+            + "from " + TABLE + " g where match(g.title, g.genre, g.description) against (? in boolean mode) "
+            + "order by score desc, g.id asc limit 500";
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"dragon", "neon knight", RARE_WORD})
+    public String query;
+
+    private List<Game> games;
+    private Connection connection;
+    private PreparedStatement search;
+    private String expression;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        games = SyntheticCatalog.generate(catalogSize, 42L);
+        for (int i = 0; i < games.size(); i += 1000) {
+            games.get(i).setDescription(games.get(i).getDescription() + " " + RARE_WORD);
+        }
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/gameflix"
+                        + "?useSSL=false&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", "Malchom1"));
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists " + TABLE);
+            ddl.execute("create table " + TABLE + " (id bigint primary key, title varchar(150) not null, "
+                    + "genre varchar(80), description varchar(4000)) engine=InnoDB");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + TABLE + " (id, title, genre, description) values (?, ?, ?, ?)")) {
+            for (Game g : games) {
+                insert.setLong(1, g.getId());
+                insert.setString(2, g.getTitle());
+                insert.setString(3, g.getGenre());
+                insert.setString(4, g.getDescription());
+                insert.addBatch();
+                if (g.getId() % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("alter table " + TABLE + " add fulltext index ft_bench_text (title, genre, description)");
+            ddl.execute("alter table " + TABLE + " add fulltext index ft_bench_title (title)");
+        }
+        search = connection.prepareStatement(SEARCH);
+        expression = FulltextQuery.of(query, 3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists " + TABLE);
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Game> streamFilter() {
+        final String term = query.toLowerCase();
+        return games.stream()
+                .filter(g -> (g.getTitle() != null && g.getTitle().toLowerCase().contains(term)) ||
+                             (g.getDescription() != null && g.getDescription().toLowerCase().contains(term)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Long> fulltext() throws SQLException {
+        search.setString(1, expression);
+        search.setString(2, expression);
+        search.setString(3, expression);
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = search.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FulltextSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,162 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.search.CatalogSearchIndex;
+import com.gameflix.gameflix.search.SearchHit;
+import com.gameflix.gameflix.search.TrigramTitleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Latency and recall for titles typed with one typo (a dropped, added,
+ * replaced or swapped letter). Recall@10 is the share of queries whose
+ * intended title is among the first ten results; main prints it for the
+ * original contains filter, the inverted index and the trigram index before
+ * the JMH latency runs. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.FuzzySearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final int QUERIES = 500;
+    private static final int TOP = 10;
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private List<Game> games;
+    private TrigramTitleIndex trigramIndex;
+    private CatalogSearchIndex invertedIndex;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        games = SyntheticCatalog.generate(catalogSize, 42L);
+        trigramIndex = new TrigramTitleIndex();
+        invertedIndex = new CatalogSearchIndex();
+        for (Game g : games) {
+            trigramIndex.index(g.getId(), g.getTitle());
+            invertedIndex.index(g.getId(), g.getTitle(), g.getGenre(), g.getDescription());
+        }
+        queries = typos(games, new Random(7L)).keySet().toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<Game> streamFilter() {
+        return contains(games, nextQuery());
+    }
+
+    @Benchmark
+    public List<SearchHit> invertedIndex() {
+        return invertedIndex.search(nextQuery(), 500);
+    }
+
+    @Benchmark
+    public List<SearchHit> trigram() {
+        return trigramIndex.search(nextQuery(), 500);
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % queries.length;
+        return queries[next];
+    }
+
+    private static List<Game> contains(List<Game> games, String query) {
+        final String term = query.toLowerCase();
+        return games.stream()
+                .filter(g -> (g.getTitle() != null && g.getTitle().toLowerCase().contains(term)) ||
+                             (g.getDescription() != null && g.getDescription().toLowerCase().contains(term)))
+                .collect(Collectors.toList());
+    }
+
+    /** Misspelled query to intended title, one edit in one word of at least four letters. */
+    static Map<String, String> typos(List<Game> games, Random random) {
+        Map<String, String> typos = new HashMap<>();
+        while (typos.size() < QUERIES) {
+            String title = games.get(random.nextInt(games.size())).getTitle();
+            String[] words = title.toLowerCase(Locale.ROOT).split(" ");
+            int w = random.nextInt(2);
+            String word = words[w];
+            int at = 1 + random.nextInt(word.length() - 2);
+            char letter = (char) ('a' + random.nextInt(26));
+            words[w] = switch (random.nextInt(4)) {
+                case 0 -> word.substring(0, at) + word.substring(at + 1);
+                case 1 -> word.substring(0, at) + letter + word.substring(at);
+                case 2 -> word.substring(0, at) + letter + word.substring(at + 1);
+                default -> word.substring(0, at) + word.charAt(at + 1) + word.charAt(at) + word.substring(at + 2);
+            };
+            typos.put(String.join(" ", words), title);
+        }
+        return typos;
+    }
+
+    static double recall(List<Game> games, Map<String, String> typos, Function<String, List<Long>> search) {
+        Map<Long, String> titles = new HashMap<>();
+        for (Game g : games) {
+            titles.put(g.getId(), g.getTitle());
+        }
+        int found = 0;
+        for (Map.Entry<String, String> typo : typos.entrySet()) {
+            List<Long> ids = search.apply(typo.getKey());
+            for (Long id : ids.subList(0, Math.min(TOP, ids.size()))) {
+                if (titles.get(id).equalsIgnoreCase(typo.getValue())) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return (double) found / typos.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int size : new int[]{10_000, 100_000}) {
+            FuzzySearchBenchmark b = new FuzzySearchBenchmark();
+            b.catalogSize = size;
+            b.setUp();
+            Map<String, String> typos = typos(b.games, new Random(7L));
+            System.out.printf(Locale.ROOT, "recall@%d over %d games: contains=%.3f inverted=%.3f trigram=%.3f%n", TOP, size,
+                    recall(b.games, typos, q -> contains(b.games, q).stream().map(Game::getId).toList()),
+                    recall(b.games, typos, q -> ids(b.invertedIndex.search(q, 500))),
+                    recall(b.games, typos, q -> ids(b.trigramIndex.search(q, 500))));
+        }
+        new Runner(new OptionsBuilder()
+                .include(FuzzySearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.gameId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.leaderboard.RatingLeaderboard;
+import com.gameflix.gameflix.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Top-rated reads from the incrementally kept leaderboard against sorting
+ * every game of the genre per request, with 8 threads also posting reviews.
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.LeaderboardBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    private List<Game> games;
+    private AtomicLongArray reviewCounts;
+    private AtomicLongArray ratingSums;
+    private RatingLeaderboard leaderboard;
+
+    @Setup
+    public void setUp() {
+        games = SyntheticCatalog.generate(catalogSize, 42L);
+        reviewCounts = new AtomicLongArray(catalogSize);
+        ratingSums = new AtomicLongArray(catalogSize);
+        leaderboard = new RatingLeaderboard(10, 3.5);
+        Random random = new Random(42L);
+        for (int i = 0; i < catalogSize; i++) {
+            int n = 1 + random.nextInt(200);
+            reviewCounts.set(i, n);
+            ratingSums.set(i, n + (long) random.nextInt(4 * n + 1));
+            update(i);
+        }
+    }
+
+    @Benchmark
+    public List<RatingLeaderboard.Ranked> top() {
+        return leaderboard.top(genre(), null, 10);
+    }
+
+    @Benchmark
+    public List<Long> sortOnRequest() {
+        String genre = genre();
+        return IntStream.range(0, catalogSize)
+                .filter(i -> genre.equalsIgnoreCase(games.get(i).getGenre()))
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) ->
+                        leaderboard.score(reviewCounts.get(i), ratingSums.get(i))).reversed())
+                .limit(10)
+                .map(i -> games.get(i).getId())
+                .toList();
+    }
+
+    @Benchmark
+    public void review() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(catalogSize);
+        reviewCounts.incrementAndGet(i);
+        ratingSums.addAndGet(i, 1 + random.nextInt(5));
+        update(i);
+    }
+
+    private void update(int i) {
+        Game g = games.get(i);
+        leaderboard.update(g.getId(), g.getGenre(), g.getSubscriptionTier(), reviewCounts.get(i), ratingSums.get(i));
+    }
+
+    private String genre() {
+        return games.get(ThreadLocalRandom.current().nextInt(catalogSize)).getGenre();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LeaderboardBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.recommend.CoOccurrenceMatrix;
+import com.gameflix.gameflix.recommend.Related;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Also added" lookups and incremental updates on a matrix built from
+ * synthetic libraries whose game popularity is skewed towards low ids, with
+ * 8 threads mixing reads of popular and long-tail games. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.RelatedGamesBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RelatedGamesBenchmark {
+
+    private static final int USERS = 50_000;
+    private static final int LIBRARY_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"64"})
+    public int maxNeighbors;
+
+    private CoOccurrenceMatrix matrix;
+
+    @Setup
+    public void setUp() {
+        matrix = new CoOccurrenceMatrix(maxNeighbors);
+        Random random = new Random(42L);
+        long[] library = new long[LIBRARY_SIZE];
+        for (int u = 0; u < USERS; u++) {
+            for (int i = 0; i < LIBRARY_SIZE; i++) {
+                library[i] = game(random.nextDouble());
+            }
+            matrix.addLibrary(library, LIBRARY_SIZE);
+        }
+    }
+
+    @Benchmark
+    public List<Related> top() {
+        return matrix.top(game(ThreadLocalRandom.current().nextDouble()), 10);
+    }
+
+    @Benchmark
+    public void add() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] existing = new long[LIBRARY_SIZE];
+        for (int i = 0; i < existing.length; i++) {
+            existing[i] = game(random.nextDouble());
+        }
+        matrix.add(game(random.nextDouble()), existing);
+    }
+
+    private long game(double r) {
+        return 1 + (long) (catalogSize * r * r);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RelatedGamesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
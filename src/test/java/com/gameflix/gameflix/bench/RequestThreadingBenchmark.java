@@ -0,0 +1,99 @@
+package com.gameflix.gameflix.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Models a blocking request (two JDBC-sized waits around a little CPU work)
+ * served by either Tomcat's default 200-thread pool or one virtual thread per
+ * request, with far more concurrent clients than pool threads. Throughput mode
+ * gives requests/s; SampleTime gives the p99 latency per request. The
+ * "monitor" variant does its waits inside synchronized, which pins virtual
+ * threads to their carriers on JDK 21. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.RequestThreadingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(1000)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"plain", "monitor"})
+    public String blocking;
+
+    @Param({"5"})
+    public int ioMillis;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object request() throws InterruptedException, ExecutionException {
+        return executor.submit(this::handle).get();
+    }
+
+    private Object handle() throws InterruptedException {
+        query();
+        Blackhole.consumeCPU(2_000);
+        query();
+        return Boolean.TRUE;
+    }
+
+    private void query() throws InterruptedException {
+        if ("monitor".equals(blocking)) {
+            // Each request has its own monitor in real code; one per call keeps them uncontended here.
+            Object monitor = new Object();
+            synchronized (monitor) {
+                Thread.sleep(ioMillis);
+            }
+        } else {
+            Thread.sleep(ioMillis);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RequestThreadingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
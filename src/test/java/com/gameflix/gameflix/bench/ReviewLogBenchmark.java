@@ -0,0 +1,79 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.reviewlog.LoggedReview;
+import com.gameflix.gameflix.reviewlog.ReviewLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency of a durable review append with 32 concurrent posters sharing
+ * group-committed fsyncs; compare with -t 1 for one sync per review. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.ReviewLogBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Threads(32)
+@Fork(1)
+public class ReviewLogBenchmark {
+
+    private static final String COMMENT = "Tight controls, great soundtrack, a little short on content. ".repeat(3);
+
+    private Path dir;
+    private ReviewLog reviewLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("review-log-bench");
+        reviewLog = ReviewLog.open(dir, 64L << 20);
+        reviewLog.start(batch -> reviewLog.release(batch.get(batch.size() - 1).seq()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        reviewLog.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Benchmark
+    public LoggedReview append() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return reviewLog.append(1 + random.nextInt(100_000), "player" + random.nextInt(10_000),
+                1 + random.nextInt(5), COMMENT, LocalDateTime.now()).join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReviewLogBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
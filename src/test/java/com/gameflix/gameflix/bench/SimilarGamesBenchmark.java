@@ -0,0 +1,95 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.recommend.SimilarityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the similar-games index: a full build on 1 thread and on every
+ * core, re-indexing one edited game, and a lookup. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.SimilarGamesBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class SimilarGamesBenchmark {
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"1", "0"})
+    public int threads;
+
+    private List<SimilarityIndex.Document> documents;
+    private ForkJoinPool pool;
+    private SimilarityIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        documents = SyntheticCatalog.generate(catalogSize, 42L).stream()
+                .map(SimilarGamesBenchmark::document)
+                .toList();
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        index = new SimilarityIndex();
+        index.build(documents, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int build() {
+        SimilarityIndex built = new SimilarityIndex();
+        built.build(documents, pool);
+        return built.size();
+    }
+
+    @Benchmark
+    public int updateOne() {
+        SimilarityIndex.Document d = documents.get(ThreadLocalRandom.current().nextInt(documents.size()));
+        index.update(List.of(d), pool);
+        return index.size();
+    }
+
+    @Benchmark
+    public List<Long> similar() {
+        return index.similar(1 + ThreadLocalRandom.current().nextInt(catalogSize), 6);
+    }
+
+    private static SimilarityIndex.Document document(Game g) {
+        return new SimilarityIndex.Document(g.getId(), g.getDescription(), g.getGenre(), g.getSubscriptionTier());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SimilarGamesBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
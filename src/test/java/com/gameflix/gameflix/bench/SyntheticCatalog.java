@@ -0,0 +1,54 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.PlanTier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class SyntheticCatalog {
+
+    private static final String[] GENRES = {"Action", "Adventure", "Puzzle", "Racing", "RPG", "Shooter", "Sports", "Strategy"};
+    private static final String[] TIERS = {PlanTier.FREE, PlanTier.RETRO, PlanTier.INDIE, PlanTier.AAA};
+    private static final String[] WORDS = {
+            "shadow", "legend", "star", "dungeon", "racer", "kingdom", "pixel", "storm", "galaxy", "knight",
+            "neon", "quest", "arena", "forest", "ocean", "dragon", "rocket", "castle", "zombie", "empire",
+            "drift", "crystal", "hunter", "ember", "frontier", "signal", "harbor", "titan", "echo", "rift"
+    };
+
+    private SyntheticCatalog() {
+    }
+
+    static List<Game> generate(int size, long seed) {
+        Random random = new Random(seed);
+        List<Game> games = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Game g = new Game();
+            g.setId((long) i + 1);
+            g.setTitle(capitalize(word(random)) + " " + capitalize(word(random)) + " " + (i % 97));
+            g.setGenre(GENRES[random.nextInt(GENRES.length)]);
+            g.setSubscriptionTier(TIERS[random.nextInt(TIERS.length)]);
+            g.setRatingAvg(1 + random.nextInt(41) / 10.0);
+            StringBuilder description = new StringBuilder();
+            int words = 40 + random.nextInt(80);
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    description.append(' ');
+                }
+                description.append(word(random));
+            }
+            g.setDescription(description.toString());
+            games.add(g);
+        }
+        return games;
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.search.Suggestion;
+import com.gameflix.gameflix.search.TitleSuggestIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of /games/suggest lookups as a user types a title, one keystroke
+ * per prefix length, with 8 threads sharing the index. The "mixed" group has
+ * one thread posting rating changes (as reviews do) while seven look up, to
+ * show lookups stay fast under writes. Run with -prof gc to see
+ * allocation per lookup. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.TitleSuggestBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class TitleSuggestBenchmark {
+
+    @Param({"10000", "100000"})
+    public int catalogSize;
+
+    @Param({"d", "dra", "dragon", "dragon kn"})
+    public String prefix;
+
+    private TitleSuggestIndex index;
+    private long[] reviewCounts;
+
+    @Setup
+    public void setUp() {
+        index = new TitleSuggestIndex();
+        reviewCounts = new long[catalogSize + 1];
+        for (Game g : SyntheticCatalog.generate(catalogSize, 42L)) {
+            reviewCounts[g.getId().intValue()] = g.getId() % 500;
+            index.index(g.getId(), g.getTitle(), g.getRatingAvg(), reviewCounts[g.getId().intValue()]);
+        }
+        index.suggest(prefix, 8);
+    }
+
+    @Benchmark
+    public List<Suggestion> suggest() {
+        return index.suggest(prefix, 8);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(7)
+    public List<Suggestion> suggestWhileRating() {
+        return index.suggest(prefix, 8);
+    }
+
+    // One more review of a random game; only this group's single writer thread touches reviewCounts.
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void rate(Writer writer) {
+        int id = 1 + writer.random.nextInt(catalogSize);
+        index.updateRating((long) id, 1 + writer.random.nextInt(41) / 10.0, ++reviewCounts[id]);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        final SplittableRandom random = new SplittableRandom(7L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TitleSuggestBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
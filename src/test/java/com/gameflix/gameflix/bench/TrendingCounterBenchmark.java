@@ -0,0 +1,71 @@
+package com.gameflix.gameflix.bench;
+
+import com.gameflix.gameflix.trending.SlidingWindowCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording trending events from 8 threads, either all on one hot game (the
+ * launch-day case the striping is for) or spread over a catalog, plus one
+ * scoring pass over every counted game. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.gameflix.gameflix.bench.TrendingCounterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class TrendingCounterBenchmark {
+
+    @Param({"1", "10000"})
+    public int games;
+
+    private SlidingWindowCounter counter;
+
+    @Setup
+    public void setUp() {
+        counter = new SlidingWindowCounter(48, TimeUnit.HOURS.toMillis(1));
+        long now = System.currentTimeMillis();
+        for (int id = 1; id <= games; id++) {
+            counter.record(id, 1, now);
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        counter.record(1 + ThreadLocalRandom.current().nextInt(games), 1, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(1)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long[] scorePass() {
+        long[] total = new long[1];
+        counter.forEach(System.currentTimeMillis(), (id, counts) -> total[0] += counts[0]);
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TrendingCounterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
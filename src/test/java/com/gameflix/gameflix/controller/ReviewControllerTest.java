@@ -0,0 +1,137 @@
+package com.gameflix.gameflix.controller;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.ReviewBatchResult;
+import com.gameflix.gameflix.repository.ReviewLogCheckpointRepository;
+import com.gameflix.gameflix.service.DirectReviewIntake;
+import com.gameflix.gameflix.service.DuplicateReviewException;
+import com.gameflix.gameflix.service.GameService;
+import com.gameflix.gameflix.service.ReviewIntake;
+import com.gameflix.gameflix.service.ReviewService;
+import com.gameflix.gameflix.service.WriteBehindReviewIntake;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReviewControllerTest {
+
+    private static final String STORED = """
+            {"gameId": 7, "username": "ann", "rating": 4, "comment": "again"}""";
+
+    @TempDir
+    Path dir;
+
+    private final ReviewService reviewService = Mockito.mock(ReviewService.class);
+    private final GameService gameService = Mockito.mock(GameService.class);
+    private WriteBehindReviewIntake writeBehind;
+
+    @AfterEach
+    void stopWriteBehind() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @ParameterizedTest(name = "write-behind={0}")
+    @ValueSource(booleans = {false, true})
+    void create_ShouldReturnConflict_WhenReviewIsAlreadyStored(boolean writeBehindEnabled) throws Exception {
+        Game game = new Game();
+        game.setId(7L);
+        Mockito.when(gameService.findById(7L)).thenReturn(Optional.of(game));
+        Mockito.when(reviewService.existsForUser(7L, "ann")).thenReturn(true);
+        Mockito.when(reviewService.create(ArgumentMatchers.eq(game), ArgumentMatchers.eq("ann"),
+                        ArgumentMatchers.anyInt(), ArgumentMatchers.anyString()))
+                .thenThrow(new DuplicateReviewException("You already reviewed this game"));
+
+        MockMvc mvc = mvc(writeBehindEnabled ? writeBehind() : new DirectReviewIntake(reviewService));
+
+        mvc.perform(post("/reviews").contentType(MediaType.APPLICATION_JSON).content(STORED))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("You already reviewed this game"));
+        if (writeBehindEnabled) {
+            // Turned away before logging, so the pair is not left claimed either.
+            Mockito.when(reviewService.existsForUser(7L, "ann")).thenReturn(false);
+            mvc.perform(post("/reviews").contentType(MediaType.APPLICATION_JSON).content(STORED))
+                    .andExpect(status().isAccepted());
+        }
+    }
+
+    @Test
+    void createBatch_ShouldRetryOnce_WhenConcurrentPostTakesAPair() throws Exception {
+        ReviewBatchResult retried = new ReviewBatchResult(0, 1, List.of(new ReviewBatchResult.Item(0,
+                ReviewBatchResult.DUPLICATE, null, "You already reviewed this game")));
+        Mockito.when(reviewService.createBatch(ArgumentMatchers.anyList()))
+                .thenThrow(new DuplicateReviewException("You already reviewed this game"))
+                .thenReturn(retried);
+
+        mvc(new DirectReviewIntake(reviewService))
+                .perform(post("/reviews/batch").contentType(MediaType.APPLICATION_JSON).content(batch(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(ReviewBatchResult.DUPLICATE));
+        Mockito.verify(reviewService, Mockito.times(2)).createBatch(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void createBatch_ShouldReturnConflict_WhenRetryAlsoLosesARace() throws Exception {
+        Mockito.when(reviewService.createBatch(ArgumentMatchers.anyList()))
+                .thenThrow(new DuplicateReviewException("You already reviewed this game"));
+
+        mvc(new DirectReviewIntake(reviewService))
+                .perform(post("/reviews/batch").contentType(MediaType.APPLICATION_JSON).content(batch(1)))
+                .andExpect(status().isConflict());
+        Mockito.verify(reviewService, Mockito.times(2)).createBatch(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void createBatch_ShouldReturnBadRequest_WhenLargerThanMaxBatchSize() throws Exception {
+        mvc(new DirectReviewIntake(reviewService))
+                .perform(post("/reviews/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(ReviewService.MAX_BATCH_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("At most " + ReviewService.MAX_BATCH_SIZE + " reviews per batch"));
+        Mockito.verifyNoInteractions(reviewService);
+    }
+
+    private static String batch(int size) {
+        return Stream.generate(() -> "{\"gameId\": 7, \"username\": \"ann\", \"rating\": 4, \"comment\": \"ok\"}")
+                .limit(size)
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private MockMvc mvc(ReviewIntake intake) {
+        return MockMvcBuilders.standaloneSetup(new ReviewController(reviewService, gameService, intake)).build();
+    }
+
+    private WriteBehindReviewIntake writeBehind() throws IOException {
+        ReviewLogCheckpointRepository checkpoints = Mockito.mock(ReviewLogCheckpointRepository.class);
+        Mockito.when(checkpoints.findById(ArgumentMatchers.anyString())).thenReturn(Optional.empty());
+        writeBehind = new WriteBehindReviewIntake(reviewService, checkpoints,
+                Mockito.mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), dir,
+                DataSize.ofMegabytes(1), 100, 50, Duration.ofSeconds(1), Duration.ofMillis(500));
+        writeBehind.start();
+        return writeBehind;
+    }
+}
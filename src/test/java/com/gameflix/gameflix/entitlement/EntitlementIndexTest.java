@@ -0,0 +1,36 @@
+package com.gameflix.gameflix.entitlement;
+
+import com.gameflix.gameflix.model.PlanTier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class EntitlementIndexTest {
+
+    @Test
+    void planMask_ShouldIncludeEveryLowerTier() {
+        int indie = TierMask.plan("indie pack");
+
+        Assertions.assertTrue(TierMask.allows(indie, TierMask.required(PlanTier.FREE)));
+        Assertions.assertTrue(TierMask.allows(indie, TierMask.required("Retro")));
+        Assertions.assertTrue(TierMask.allows(indie, TierMask.required(PlanTier.INDIE)));
+        Assertions.assertFalse(TierMask.allows(indie, TierMask.required(PlanTier.AAA)));
+        Assertions.assertEquals(TierMask.FREE, TierMask.plan(null));
+        Assertions.assertEquals(TierMask.FREE, TierMask.required("unknown"));
+        Assertions.assertEquals(PlanTier.AAA, TierMask.tier(TierMask.required("ultimate")));
+    }
+
+    @Test
+    void required_ShouldReturnBitsInOrder_AndZeroForUnknownIds() {
+        EntitlementIndex index = new EntitlementIndex();
+        index.index(2L, PlanTier.AAA);
+        index.index(5_000L, null);
+        index.index(3L, PlanTier.RETRO);
+        index.index(3L, PlanTier.INDIE);
+
+        int[] bits = index.required(List.of(3L, 2L, 5_000L, 4L, 99_999L));
+
+        Assertions.assertArrayEquals(new int[]{TierMask.INDIE, TierMask.AAA, TierMask.FREE, 0, 0}, bits);
+    }
+}
@@ -0,0 +1,31 @@
+package com.gameflix.gameflix.importer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+class CsvReaderTest {
+
+    @Test
+    void next_ShouldHandleQuotesEmbeddedNewlinesAndBlankLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "title,description\r\n\"Hades, II\",\"Line one\nline \"\"two\"\"\"\n\nCeleste,\n"));
+
+        Assertions.assertEquals(List.of("title", "description"), csv.next());
+        Assertions.assertEquals(List.of("Hades, II", "Line one\nline \"two\""), csv.next());
+        Assertions.assertEquals(List.of("Celeste", ""), csv.next());
+        Assertions.assertNull(csv.next());
+    }
+
+    @Test
+    void next_ShouldReturnLastRecordWithoutTrailingNewline() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\nc,d"));
+
+        Assertions.assertEquals(List.of("a", "b"), csv.next());
+        Assertions.assertEquals(List.of("c", "d"), csv.next());
+        Assertions.assertNull(csv.next());
+    }
+}
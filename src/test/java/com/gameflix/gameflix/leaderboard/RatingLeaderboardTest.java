@@ -0,0 +1,54 @@
+package com.gameflix.gameflix.leaderboard;
+
+import com.gameflix.gameflix.model.PlanTier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class RatingLeaderboardTest {
+
+    @Test
+    void top_ShouldRankByBayesianAverageWithinEachGenreAndTier() {
+        RatingLeaderboard board = new RatingLeaderboard(10, 3.0);
+        board.update(1, "Action", PlanTier.AAA, 1, 5);      // (30 + 5) / 11 = 3.18
+        board.update(2, "Puzzle", "free", 100, 420);        // (30 + 420) / 110 = 4.09
+        board.update(3, " action ", PlanTier.FREE, 40, 180); // (30 + 180) / 50 = 4.2
+        board.update(4, null, null, 20, 40);                // (30 + 40) / 30 = 2.33
+        board.update(5, "Action", PlanTier.AAA, 0, 0);
+
+        Assertions.assertEquals(List.of(3L, 2L, 1L, 4L), ids(board.top(null, null, 10)));
+        Assertions.assertEquals(List.of(3L, 1L), ids(board.top("ACTION", null, 10)));
+        Assertions.assertEquals(List.of(3L, 2L), ids(board.top(null, PlanTier.FREE, 10)));
+        Assertions.assertEquals(List.of(3L), ids(board.top("action", PlanTier.FREE, 10)));
+        Assertions.assertEquals(List.of(3L), ids(board.top(null, null, 1)));
+        Assertions.assertEquals(List.of(), board.top("racing", null, 10));
+        Assertions.assertEquals(4, board.size());
+        Assertions.assertEquals(5.0, board.top(null, null, 10).get(2).average());
+    }
+
+    @Test
+    void update_ShouldMoveGamesAndIgnoreStaleTotals() {
+        RatingLeaderboard board = new RatingLeaderboard(10, 3.0);
+        board.update(1, "Action", PlanTier.AAA, 10, 40);
+        board.update(2, "Action", PlanTier.AAA, 10, 35);
+
+        board.update(2, "Action", PlanTier.AAA, 12, 55);
+        Assertions.assertEquals(List.of(2L, 1L), ids(board.top("action", null, 10)));
+
+        // An event computed before the one above arrives late.
+        board.update(2, "Action", PlanTier.AAA, 11, 36);
+        Assertions.assertEquals(List.of(2L, 1L), ids(board.top("action", null, 10)));
+
+        board.reclassify(2, "Puzzle", PlanTier.INDIE);
+        Assertions.assertEquals(List.of(1L), ids(board.top("action", null, 10)));
+        Assertions.assertEquals(List.of(2L), ids(board.top("puzzle", PlanTier.INDIE, 10)));
+        Assertions.assertEquals(List.of(), board.top(null, PlanTier.AAA, 10).stream()
+                .filter(r -> r.gameId() == 2).toList());
+        Assertions.assertEquals(List.of(2L, 1L), ids(board.top(null, null, 10)));
+    }
+
+    private static List<Long> ids(List<RatingLeaderboard.Ranked> ranked) {
+        return ranked.stream().map(RatingLeaderboard.Ranked::gameId).toList();
+    }
+}
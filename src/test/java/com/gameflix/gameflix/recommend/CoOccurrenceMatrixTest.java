@@ -0,0 +1,64 @@
+package com.gameflix.gameflix.recommend;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+class CoOccurrenceMatrixTest {
+
+    @Test
+    void top_ShouldRankByLibrariesInCommon_WhenBuiltAndThenUpdated() {
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(64);
+        matrix.addLibrary(new long[]{1, 2, 3}, 3);
+        matrix.addLibrary(new long[]{1, 2, 9}, 2);
+        matrix.add(3, new long[]{1, 4});
+        matrix.add(4, new long[]{1, 3});
+
+        Assertions.assertEquals(List.of(new Related(2, 2), new Related(3, 2), new Related(4, 1)), matrix.top(1, 10));
+        Assertions.assertEquals(List.of(new Related(2, 2)), matrix.top(1, 1));
+        Assertions.assertEquals(2, matrix.count(3, 1));
+        Assertions.assertEquals(0, matrix.count(1, 9));
+        Assertions.assertEquals(List.of(), matrix.top(9, 10));
+    }
+
+    @Test
+    void add_ShouldKeepFrequentNeighbors_WhenRowIsFull() {
+        CoOccurrenceMatrix matrix = new CoOccurrenceMatrix(4);
+        for (int i = 0; i < 50; i++) {
+            matrix.add(1, new long[]{2});
+        }
+        for (long other = 100; other < 1_000; other++) {
+            matrix.add(1, new long[]{other});
+        }
+
+        List<Related> top = matrix.top(1, 10);
+        Assertions.assertEquals(4, top.size());
+        Assertions.assertEquals(new Related(2, 50), top.get(0));
+    }
+
+    @Test
+    void longIntMap_ShouldMatchHashMap_AcrossAddsAndRemoves() {
+        LongIntMap map = new LongIntMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long key = 1 + random.nextInt(300);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, 1);
+                expected.merge(key, 1, Integer::sum);
+            }
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 300; key++) {
+            Assertions.assertEquals(expected.getOrDefault(key, 0), map.get(key), "key " + key);
+        }
+    }
+}
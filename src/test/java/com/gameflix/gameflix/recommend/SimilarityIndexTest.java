@@ -0,0 +1,53 @@
+package com.gameflix.gameflix.recommend;
+
+import com.gameflix.gameflix.model.PlanTier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class SimilarityIndexTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @Test
+    void similar_ShouldRankSharedRareWordsAndGenreFirst() {
+        SimilarityIndex index = new SimilarityIndex();
+        index.build(List.of(
+                new SimilarityIndex.Document(1, "Pilot a lighthouse keeper through stormy seas", "Adventure", PlanTier.FREE),
+                new SimilarityIndex.Document(2, "A lighthouse keeper braves stormy nights", "Adventure", PlanTier.FREE),
+                new SimilarityIndex.Document(3, "A lighthouse tour", "Racing", PlanTier.AAA),
+                new SimilarityIndex.Document(4, "Race cars around the track", "Racing", PlanTier.AAA),
+                new SimilarityIndex.Document(5, null, null, null)), pool);
+
+        Assertions.assertEquals(List.of(2L, 3L), index.similar(1, 10));
+        Assertions.assertEquals(List.of(2L), index.similar(1, 1));
+        Assertions.assertEquals(List.of(3L), index.similar(4, 10));
+        Assertions.assertEquals(List.of(), index.similar(5, 10));
+        Assertions.assertEquals(List.of(), index.similar(99, 10));
+    }
+
+    @Test
+    void update_ShouldRefreshRowsOfChangedAndNewGames() {
+        SimilarityIndex index = new SimilarityIndex();
+        List<SimilarityIndex.Document> games = new ArrayList<>();
+        for (long id = 1; id <= 3_000; id++) {
+            games.add(new SimilarityIndex.Document(id, "common words word" + id, id % 2 == 0 ? "Action" : "Puzzle", null));
+        }
+        games.add(new SimilarityIndex.Document(5_000, "orbital salvage crew", "Action", null));
+        index.build(games, pool);
+        Assertions.assertEquals(SimilarityIndex.NEIGHBORS, index.similar(7, 20).size());
+        Assertions.assertFalse(index.similar(7, 20).contains(5_000L));
+
+        index.update(List.of(
+                new SimilarityIndex.Document(7, "orbital salvage crew adrift", "Puzzle", null),
+                new SimilarityIndex.Document(6_000, "salvage crew", "Action", null)), pool);
+
+        Assertions.assertEquals(List.of(5_000L, 6_000L), index.similar(7, 2));
+        Assertions.assertEquals(6_000L, index.similar(5_000, 1).get(0));
+        Assertions.assertTrue(index.similar(6_000, 10).containsAll(List.of(5_000L, 7L)));
+        Assertions.assertEquals(3_002, index.size());
+    }
+}
@@ -0,0 +1,288 @@
+package com.gameflix.gameflix.repository;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.service.GameService;
+import com.gameflix.gameflix.service.LibraryService;
+import com.gameflix.gameflix.service.ReviewService;
+import com.gameflix.gameflix.service.UserService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Calls each repository method against the migrated schema, captures the SQL
+ * and bind values Hibernate actually sends, EXPLAINs every statement and fails
+ * when MySQL would answer it with a full table scan (type ALL).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type=INFO"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final String PREFIX = "qp-" + System.nanoTime() % 1_000_000 + "-";
+    // Large enough that the optimizer prefers an index over scanning and sorting the whole table.
+    private static final int GAMES = 20_000;
+    private static final int REVIEWED_GAMES = 200;
+    private static final int USERS = 100;
+    private static final int REGISTERED_USERS = 4;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameRatingRepository gameRatingRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LibraryRepository libraryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate transactions;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private UserService userService;
+
+    private final List<Long> reviewedGameIds = new ArrayList<>();
+    private Long gameId;
+
+    @BeforeAll
+    void seed() {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            Game g = new Game();
+            g.setTitle(PREFIX + "game-" + i);
+            g.setGenre(i % 2 == 0 ? "Action" : "Puzzle");
+            games.add(g);
+            if (games.size() == 1000) {
+                gameService.saveBatch(games);
+                if (reviewedGameIds.isEmpty()) {
+                    games.subList(0, REVIEWED_GAMES).forEach(game -> reviewedGameIds.add(game.getId()));
+                }
+                games.clear();
+            }
+        }
+
+        List<ReviewService.NewReview> reviews = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            for (int i = 0; i < REVIEWED_GAMES; i++) {
+                reviews.add(new ReviewService.NewReview(reviewedGameIds.get(i), user(u), 1 + (i + u) % 5, "ok"));
+            }
+            if (reviews.size() + REVIEWED_GAMES > ReviewService.MAX_BATCH_SIZE) {
+                reviewService.createBatch(reviews);
+                reviews.clear();
+            }
+        }
+        reviewService.createBatch(reviews);
+        gameId = reviewedGameIds.get(0);
+        for (int i = 0; i < REVIEWED_GAMES; i++) {
+            libraryService.add(user(i % USERS), reviewedGameIds.get(i));
+        }
+        for (int u = 0; u < REGISTERED_USERS; u++) {
+            userService.register(user(u), "password123");
+        }
+        jdbc.execute("analyze table games, reviews, library_entries, users, game_ratings");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        String like = PREFIX + "%";
+        jdbc.update("delete from reviews where username like ?", like);
+        jdbc.update("delete from library_entries where username like ?", like);
+        jdbc.update("delete from game_ratings where game_id in (select id from games where title like ?)", like);
+        jdbc.update("delete from games where title like ?", like);
+        jdbc.update("delete from users where username like ?", like);
+    }
+
+    Stream<Arguments> queries() {
+        String title = PREFIX + "game-5";
+        String user = user(1);
+        return Stream.of(
+                call("UserRepository.findByUsername", () -> userRepository.findByUsername(user)),
+                call("GameRepository.existsByTitle", () -> gameRepository.existsByTitle(title)),
+                call("GameRepository.findTitlesIn",
+                        () -> gameRepository.findTitlesIn(List.of(title, PREFIX + "game-6"))),
+                call("GameRepository.findSummariesByTitle", () -> gameRepository.findSummariesByTitle(Limit.of(25))),
+                call("GameRepository.findSummariesByTitleAfter",
+                        () -> gameRepository.findSummariesByTitleAfter(title, 0L, Limit.of(25))),
+                call("GameRepository.findRatedSummaries", () -> gameRepository.findRatedSummaries(Limit.of(25))),
+                call("GameRepository.findRatedSummariesAfter",
+                        () -> gameRepository.findRatedSummariesAfter(3.0, 100L, Limit.of(25))),
+                call("GameRepository.findUnratedSummariesBefore",
+                        () -> gameRepository.findUnratedSummariesBefore(100_000L, Limit.of(25))),
+                call("GameRepository.findSummariesBefore",
+                        () -> gameRepository.findSummariesBefore(100_000L, Limit.of(25))),
+                call("GameRepository.searchFulltext", () -> gameRepository.searchFulltext("+game*", 500)),
+                call("GameRepository.findLastUpdatedAt", () -> gameRepository.findLastUpdatedAt()),
+                call("GameRatingRepository.findById", () -> gameRatingRepository.findById(gameId)),
+                call("ReviewRepository.findViews", () -> reviewRepository.findViews(Limit.of(21))),
+                call("ReviewRepository.findViewsForGame",
+                        () -> reviewRepository.findViewsForGame(gameId, Limit.of(21))),
+                call("ReviewRepository.findByGameIdAndUsername",
+                        () -> reviewRepository.findByGameIdAndUsername(gameId, user)),
+                call("ReviewRepository.findKeys",
+                        () -> reviewRepository.findKeys(List.of(gameId, gameId + 1), List.of(user, user(2)))),
+                call("LibraryRepository.existsByUsernameAndGameId",
+                        () -> libraryRepository.existsByUsernameAndGameId(user, gameId)),
+                call("LibraryRepository.findByUsername", () -> libraryRepository.findByUsername(user)),
+                call("LibraryRepository.findItems",
+                        () -> libraryRepository.findItems(user, null, null, GameSort.NEWEST, null, 25)),
+                call("LibraryRepository.streamPairs", () -> transactions.executeWithoutResult(status -> {
+                    try (Stream<LibraryRepository.LibraryPair> pairs = libraryRepository.streamPairs()) {
+                        pairs.findFirst();
+                    }
+                })),
+                call("LibraryRepository.findRecentGameIds", () -> libraryRepository.findRecentGameIds(user, 501)),
+                call("LibraryRepository.findViewerFlags", () -> libraryRepository.findViewerFlags(user, gameId))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void query_ShouldNotScanWholeTable(String method, Runnable call) {
+        List<CapturedStatement> statements = StatementCapture.during(call);
+        Assertions.assertFalse(statements.isEmpty(), () -> method + " ran no SQL");
+        for (CapturedStatement statement : statements) {
+            List<Map<String, Object>> plan = jdbc.queryForList("explain " + statement.sql(), statement.params());
+            for (Map<String, Object> row : plan) {
+                Assertions.assertNotEquals("ALL", row.get("type"),
+                        () -> method + " scans " + row.get("table") + " fully: " + statement.sql() + " " + plan);
+            }
+        }
+    }
+
+    private static Arguments call(String method, Runnable call) {
+        return Arguments.of(method, call);
+    }
+
+    private static String user(int i) {
+        return PREFIX + "user-" + i;
+    }
+
+    record CapturedStatement(String sql, Object[] params) {
+    }
+
+    /** Records the prepared statements, with their bind values, that the current thread executes. */
+    static final class StatementCapture {
+
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        static List<CapturedStatement> during(Runnable call) {
+            List<CapturedStatement> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                call.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+
+        static DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                return result instanceof Connection c ? wrap(c) : result;
+            });
+        }
+
+        private static Connection wrap(Connection connection) {
+            return proxy(Connection.class, connection, (target, method, args) -> {
+                Object result = method.invoke(target, args);
+                if (result instanceof PreparedStatement ps && method.getName().equals("prepareStatement")) {
+                    return wrap(ps, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement wrap(PreparedStatement statement, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    params.put(index, name.equals("setNull") ? null : args[1]);
+                } else if (name.equals("clearParameters")) {
+                    params.clear();
+                } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                    List<CapturedStatement> captured = CAPTURED.get();
+                    if (captured != null) {
+                        captured.add(new CapturedStatement(sql, params.values().toArray()));
+                    }
+                }
+                return method.invoke(target, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                try {
+                    return handler.invoke(target, method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+
+        private interface Handler<T> {
+            Object invoke(T target, Method method, Object[] args) throws Throwable;
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ds ? StatementCapture.wrap(ds) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.gameflix.gameflix.reviewlog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class ReviewLogTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_456_000);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replay_ShouldReturnSyncedReviewsInOrderAndCutTornTail() throws IOException {
+        ReviewLog first = ReviewLog.open(dir, 1 << 20);
+        List<LoggedReview> durable = Collections.synchronizedList(new ArrayList<>());
+        first.start(durable::addAll);
+        List<CompletableFuture<LoggedReview>> appends = new ArrayList<>();
+        IntStream.rangeClosed(1, 200).parallel().forEach(i -> {
+            CompletableFuture<LoggedReview> f = first.append(i, "user" + i, 1 + i % 5, "comment é " + i, AT);
+            synchronized (appends) {
+                appends.add(f);
+            }
+        });
+        appends.forEach(CompletableFuture::join);
+        first.close();
+
+        Assertions.assertEquals(200, durable.size());
+        for (int i = 0; i < durable.size(); i++) {
+            Assertions.assertEquals(i + 1, durable.get(i).seq());
+        }
+
+        Path segment = segments().get(segments().size() - 1);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        ReviewLog second = ReviewLog.open(dir, 1 << 20);
+        List<LoggedReview> replayed = new ArrayList<>();
+        second.replay(150, replayed::add);
+        Assertions.assertEquals(durable.subList(150, 200), replayed);
+        LoggedReview r = replayed.get(0);
+        Assertions.assertEquals(AT, r.createdAt());
+        Assertions.assertEquals("comment é " + r.gameId(), r.comment());
+
+        second.start(batch -> { });
+        Assertions.assertEquals(201, second.append(7, "late", 5, "ok", AT).join().seq());
+        second.close();
+    }
+
+    @Test
+    void release_ShouldDeleteDrainedSegmentsWithoutReusingNumbers() throws IOException {
+        ReviewLog first = ReviewLog.open(dir, 1);
+        first.start(batch -> { });
+        for (int i = 1; i <= 3; i++) {
+            Assertions.assertEquals(i, first.append(i, "user", 4, "fine", AT).join().seq());
+        }
+        Assertions.assertEquals(3, first.segmentCount());
+        first.release(2);
+        Assertions.assertEquals(1, first.segmentCount());
+        first.close();
+
+        ReviewLog second = ReviewLog.open(dir, 1);
+        String id = second.id();
+        second.release(3);
+        Assertions.assertEquals(1, segments().size());
+        second.close();
+
+        ReviewLog third = ReviewLog.open(dir, 1);
+        List<LoggedReview> replayed = new ArrayList<>();
+        third.replay(3, replayed::add);
+        Assertions.assertEquals(List.of(), replayed);
+        third.start(batch -> { });
+        Assertions.assertEquals(4, third.append(1, "user", 4, "again", AT).join().seq());
+        Assertions.assertEquals(id, third.id());
+        third.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+}
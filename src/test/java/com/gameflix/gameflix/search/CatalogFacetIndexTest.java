@@ -0,0 +1,69 @@
+package com.gameflix.gameflix.search;
+
+import com.gameflix.gameflix.model.GameSort;
+import com.gameflix.gameflix.model.PlanTier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class CatalogFacetIndexTest {
+
+    @Test
+    void query_ShouldIntersectFiltersAndCountOtherFacets() {
+        CatalogFacetIndex index = new CatalogFacetIndex();
+        index.index(1L, "Game 1", "Action", "AAA", 4.5);
+        index.index(2L, "Game 2", "Action", "Free", 3.2);
+        index.index(3L, "Game 3", "Puzzle", "AAA", 4.1);
+
+        FacetResult result = index.query(new FacetQuery("action", PlanTier.AAA, null, null));
+
+        Assertions.assertEquals(List.of(1L), result.gameIds());
+        Assertions.assertTrue(result.genres().contains(new FacetCount("Action", 1)));
+        Assertions.assertTrue(result.genres().contains(new FacetCount("Puzzle", 1)));
+        Assertions.assertTrue(result.tiers().contains(new FacetCount(PlanTier.FREE, 1)));
+        Assertions.assertTrue(result.tiers().contains(new FacetCount(PlanTier.AAA, 1)));
+    }
+
+    @Test
+    void index_ShouldMoveGameBetweenFacetsOnUpdate() {
+        CatalogFacetIndex index = new CatalogFacetIndex();
+        index.index(1L, "Game 1", "Action", "Free", null);
+        index.index(1L, "Game 1", "Racing", "Indie", 4.0);
+
+        Assertions.assertTrue(index.query(new FacetQuery("Action", null, null, null)).gameIds().isEmpty());
+        Assertions.assertEquals(List.of(1L), index.query(new FacetQuery("Racing", "indie", 4, null)).gameIds());
+    }
+
+    @Test
+    void query_ShouldKeepCandidateOrder() {
+        CatalogFacetIndex index = new CatalogFacetIndex();
+        index.index(1L, "Game 1", "Action", "Free", null);
+        index.index(2L, "Game 2", "Action", "Free", null);
+        index.index(3L, "Game 3", "Puzzle", "Free", null);
+
+        FacetResult result = index.query(new FacetQuery("Action", null, null, List.of(2L, 3L, 1L)));
+
+        Assertions.assertEquals(List.of(2L, 1L), result.gameIds());
+    }
+
+    @Test
+    void query_ShouldPageWithStableCursors() {
+        CatalogFacetIndex index = new CatalogFacetIndex();
+        index.index(1L, "Charlie", "Action", "Free", 3.0);
+        index.index(2L, "Alpha", "Action", "Free", null);
+        index.index(3L, "Bravo", "Action", "Free", 4.5);
+
+        FacetResult first = index.query(new FacetQuery(null, null, null, null, GameSort.TITLE, null, 2));
+        Assertions.assertEquals(List.of(2L, 3L), first.gameIds());
+        Assertions.assertEquals(3, first.total());
+
+        index.index(4L, "Aardvark", "Action", "Free", 5.0);
+        FacetResult second = index.query(new FacetQuery(null, null, null, null, GameSort.TITLE, first.next(), 2));
+        Assertions.assertEquals(List.of(1L), second.gameIds());
+        Assertions.assertNull(second.next());
+
+        FacetResult byRating = index.query(new FacetQuery(null, null, null, null, GameSort.RATING, null, 10));
+        Assertions.assertEquals(List.of(4L, 3L, 1L, 2L), byRating.gameIds());
+    }
+}
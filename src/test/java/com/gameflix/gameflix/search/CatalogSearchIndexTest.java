@@ -0,0 +1,43 @@
+package com.gameflix.gameflix.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class CatalogSearchIndexTest {
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        CatalogSearchIndex index = new CatalogSearchIndex();
+        index.index(1L, "Harbor Lights", "Puzzle", "A quiet game about a dragon keeper");
+        index.index(2L, "Dragon Rider", "Action", "Fly over the harbor");
+
+        List<SearchHit> hits = index.search("dragon", 10);
+
+        Assertions.assertEquals(List.of(2L, 1L), hits.stream().map(SearchHit::gameId).toList());
+    }
+
+    @Test
+    void search_ShouldRequireEveryTokenAndMatchPrefixes() {
+        CatalogSearchIndex index = new CatalogSearchIndex();
+        index.index(1L, "Neon Knight", "Action", null);
+        index.index(2L, "Neon Drift", "Racing", null);
+
+        List<SearchHit> hits = index.search("neo kni", 10);
+
+        Assertions.assertEquals(1, hits.size());
+        Assertions.assertEquals(1L, hits.get(0).gameId());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousTermsOnUpdate() {
+        CatalogSearchIndex index = new CatalogSearchIndex();
+        index.index(1L, "Old Title", null, null);
+        index.index(1L, "New Title", null, null);
+
+        Assertions.assertTrue(index.search("old", 10).isEmpty());
+        Assertions.assertEquals(1, index.search("new", 10).size());
+        Assertions.assertEquals(1, index.size());
+    }
+}
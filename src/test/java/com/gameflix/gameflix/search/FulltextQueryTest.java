@@ -0,0 +1,20 @@
+package com.gameflix.gameflix.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class FulltextQueryTest {
+
+    @Test
+    void of_ShouldRequireEveryTokenAsPrefix() {
+        Assertions.assertEquals("+neon* +knight*", FulltextQuery.of("Neon  KNIGHT", 3));
+        Assertions.assertEquals("+drop* +table*", FulltextQuery.of("\"drop\" -table) (", 3));
+    }
+
+    @Test
+    void of_ShouldSkipStopwordsAndShortTokens() {
+        Assertions.assertEquals("+dragon*", FulltextQuery.of("the go dragon", 3));
+        Assertions.assertNull(FulltextQuery.of("the a go", 3));
+        Assertions.assertEquals("+go*", FulltextQuery.of("go", 2));
+    }
+}
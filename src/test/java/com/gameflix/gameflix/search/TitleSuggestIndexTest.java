@@ -0,0 +1,80 @@
+package com.gameflix.gameflix.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TitleSuggestIndexTest {
+
+    @Test
+    void suggest_ShouldMatchWordStartsAndRankByPopularityThenRating() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.index(1L, "Neon Knight", 4.0, 3);
+        index.index(2L, "Knight of Neon", 4.5, 3);
+        index.index(3L, "Neon Drift", 2.0, 50);
+        index.index(4L, "Kingdom", 5.0, 0);
+
+        Assertions.assertEquals(List.of(3L, 2L, 1L), ids(index.suggest("neo", 10)));
+        Assertions.assertEquals(List.of(2L, 1L, 4L), ids(index.suggest(" K", 10)));
+        Assertions.assertEquals(List.of(2L, 1L), ids(index.suggest("knight", 10)));
+        Assertions.assertEquals(List.of(3L), ids(index.suggest("neo", 1)));
+        Assertions.assertEquals(List.of(), ids(index.suggest("zz", 10)));
+    }
+
+    @Test
+    void suggest_ShouldListEachGameOnce_AndSeeWritesAfterRebuild() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        index.index(1L, "Dragon Dragon Dragon", null);
+        Assertions.assertEquals(List.of(1L), ids(index.suggest("dragon", 10)));
+
+        index.index(2L, "Dragonfly", 3.0);
+        index.updateRating(1L, 4.0, 10);
+        index.index(1L, "Dragon Keeper", 4.0);
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.suggest("drag", 10)));
+        Assertions.assertEquals(List.of(1L), ids(index.suggest("dragon k", 10)));
+        Assertions.assertEquals(10, index.suggest("keeper", 10).get(0).reviewCount());
+    }
+
+    @Test
+    void suggest_ShouldRankWideLongPrefixesAcrossTheWholeRange() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        for (long i = 1; i <= 1000; i++) {
+            index.index(i, "Castle " + i, null, i);
+        }
+
+        List<Suggestion> top = index.suggest("castle", 3);
+        Assertions.assertEquals(top, index.suggest("castle", 3));
+
+        long last = 1000L;
+        Assertions.assertEquals(List.of(last, last - 1, last - 2), ids(top));
+    }
+
+    @Test
+    void updateRating_ShouldReRankCachedPrefixesInPlace() {
+        TitleSuggestIndex index = new TitleSuggestIndex();
+        for (long i = 1; i <= 20; i++) {
+            index.index(i, "Castle " + i, null, i);
+        }
+        Assertions.assertEquals(List.of(20L, 19L), ids(index.suggest("castle", 2)));
+        Assertions.assertEquals(List.of(20L, 19L), ids(index.suggest("c", 2)));
+
+        index.updateRating(1L, 5.0, 100);
+        Assertions.assertEquals(List.of(1L, 20L), ids(index.suggest("castle", 2)));
+        Assertions.assertEquals(List.of(1L, 20L), ids(index.suggest("c", 2)));
+        Assertions.assertEquals(List.of(1L), ids(index.suggest("castle 1", 1)));
+
+        // Falling off a full top list brings in the best game that was not listed.
+        index.updateRating(1L, 5.0, 0);
+        index.updateRating(20L, 5.0, 0);
+        Assertions.assertEquals(List.of(19L, 18L, 17L, 16L, 15L, 14L, 13L, 12L, 11L, 10L),
+                ids(index.suggest("castle", 10)));
+        Assertions.assertEquals(List.of(19L, 18L, 17L, 16L, 15L, 14L, 13L, 12L, 11L, 10L),
+                ids(index.suggest("cas", 10)));
+    }
+
+    private static List<Long> ids(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::id).toList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.gameflix.gameflix.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TrigramTitleIndexTest {
+
+    @Test
+    void search_ShouldFindMisspelledTitlesAndRankExactFirst() {
+        TrigramTitleIndex index = new TrigramTitleIndex();
+        index.index(1L, "The Legend of Zelda");
+        index.index(2L, "Zeldo Racer");
+        index.index(3L, "Castlevania");
+        index.index(4L, "Neon Knight");
+        index.index(5L, "Game Dev Story");
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.search("zelda", 10)));
+        Assertions.assertEquals(List.of(3L), ids(index.search("castelvania", 10)));
+        Assertions.assertEquals(List.of(4L), ids(index.search("nekn knigth", 10)));
+        Assertions.assertEquals(List.of(4L), ids(index.search("neon kni", 10)));
+        Assertions.assertEquals(List.of(5L), ids(index.search("gmae", 10)));
+        Assertions.assertEquals(List.of(5L), ids(index.search("gane", 10)));
+        Assertions.assertEquals(List.of(), ids(index.search("portal", 10)));
+    }
+
+    @Test
+    void distance_ShouldCountTranspositionsAsOneEditAndStopPastTheBound() {
+        Assertions.assertEquals(0, TrigramTitleIndex.distance("zelda", "zelda", 2));
+        Assertions.assertEquals(1, TrigramTitleIndex.distance("zedla", "zelda", 2));
+        Assertions.assertEquals(2, TrigramTitleIndex.distance("kinhgt", "knight", 2));
+        Assertions.assertEquals(3, TrigramTitleIndex.distance("abcdef", "uvwxyz", 2));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::gameId).toList();
+    }
+}
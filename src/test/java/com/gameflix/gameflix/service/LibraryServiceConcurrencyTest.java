@@ -0,0 +1,75 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.repository.LibraryRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+class LibraryServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryServiceConcurrencyTest.class);
+
+    private static final int THREADS = 32;
+    private static final int ADDS_PER_THREAD = 50;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private LibraryRepository libraryRepository;
+
+    @Test
+    void add_ShouldInsertExactlyOneRow_WhenSameUserAndGameAddedConcurrently() throws Exception {
+        Game game = new Game();
+        game.setTitle("Library race " + System.nanoTime());
+        Long gameId = gameService.save(game).getId();
+        String username = "racer" + System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger inserted = new AtomicInteger();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                    if (libraryService.add(username, gameId)) {
+                        inserted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        double seconds = (System.nanoTime() - began) / 1_000_000_000.0;
+        pool.shutdown();
+
+        int calls = THREADS * ADDS_PER_THREAD;
+        log.info("{} concurrent library adds in {} ms ({} adds/s)",
+                calls, Math.round(seconds * 1000), Math.round(calls / seconds));
+        Assertions.assertEquals(1, inserted.get());
+        Assertions.assertEquals(1, libraryRepository.findByUsername(username).size());
+        Assertions.assertTrue(libraryService.exists(username, gameId));
+    }
+}
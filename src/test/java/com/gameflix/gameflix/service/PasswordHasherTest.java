@@ -0,0 +1,53 @@
+package com.gameflix.gameflix.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+class PasswordHasherTest {
+
+    private final ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void needsRehash_ShouldDetectHashesMadeWithAnotherCost() {
+        PasswordHasher oldCost = hasher(4);
+        PasswordHasher newCost = hasher(5);
+        String hash = oldCost.encode("secret123");
+
+        Assertions.assertTrue(newCost.matches("secret123", hash));
+        Assertions.assertFalse(oldCost.needsRehash(hash));
+        Assertions.assertTrue(newCost.needsRehash(hash));
+        Assertions.assertFalse(newCost.matchesNothing("secret123"));
+    }
+
+    @Test
+    void encode_ShouldRejectImmediately_WhenPoolAndQueueAreFull() throws Exception {
+        PasswordHasher hasher = hasher(4);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+
+        Assertions.assertThrows(PasswordHashingBusyException.class, () -> hasher.encode("secret123"));
+        Assertions.assertEquals(1.0, registry.get("gameflix.password.hash.rejected").counter().count());
+        release.countDown();
+    }
+
+    private PasswordHasher hasher(int strength) {
+        return new PasswordHasher(new BCryptPasswordEncoder(strength), executor, strength, Duration.ofSeconds(5), registry);
+    }
+}
@@ -0,0 +1,138 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.model.Game;
+import com.gameflix.gameflix.model.Review;
+import com.gameflix.gameflix.model.ReviewBatchResult;
+import com.gameflix.gameflix.repository.GameRepository;
+import com.gameflix.gameflix.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalMatchers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/** Batch validation and dedupe against mocked repositories. */
+class ReviewServiceTest {
+
+    private final ReviewRepository reviewRepository = Mockito.mock(ReviewRepository.class);
+    private final GameRepository gameRepository = Mockito.mock(GameRepository.class);
+    private final RatingAggregateService ratingAggregateService = Mockito.mock(RatingAggregateService.class);
+    private final List<Review> saved = new ArrayList<>();
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void setUp() {
+        reviewService = new ReviewService(reviewRepository, gameRepository, ratingAggregateService,
+                Mockito.mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(reviewService, "entityManager", Mockito.mock(EntityManager.class));
+        Mockito.when(gameRepository.findIdsIn(ArgumentMatchers.anyCollection())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().filter(Set.of(1L, 2L)::contains).toList();
+        });
+        Mockito.when(gameRepository.getReferenceById(ArgumentMatchers.anyLong())).thenAnswer(inv -> {
+            Game g = new Game();
+            g.setId(inv.getArgument(0));
+            return g;
+        });
+        Mockito.when(reviewRepository.findKeys(ArgumentMatchers.anyCollection(), ArgumentMatchers.anyCollection()))
+                .thenReturn(List.of(key(1L, "ann")));
+        Mockito.when(reviewRepository.saveAll(ArgumentMatchers.anyList())).thenAnswer(inv -> {
+            List<Review> reviews = inv.getArgument(0);
+            long id = 100;
+            for (Review r : reviews) {
+                r.setId(id++);
+                saved.add(r);
+            }
+            return reviews;
+        });
+    }
+
+    @Test
+    void createBatch_ShouldReportEachItemInRequestOrder() {
+        ReviewBatchResult result = reviewService.createBatch(List.of(
+                new ReviewService.NewReview(2L, "eve", 5, "great"),
+                new ReviewService.NewReview(2L, "eve", 0, "no stars"),
+                new ReviewService.NewReview(3L, "eve", 4, "game gone"),
+                new ReviewService.NewReview(1L, "ann", 4, "stored already"),
+                new ReviewService.NewReview(2L, "EVE", 3, "repeat, other case"),
+                new ReviewService.NewReview(1L, "eve", 1, "meh")));
+
+        Assertions.assertEquals(2, result.saved());
+        Assertions.assertEquals(4, result.rejected());
+        Assertions.assertEquals(List.of(ReviewBatchResult.CREATED, ReviewBatchResult.INVALID,
+                        ReviewBatchResult.GAME_NOT_FOUND, ReviewBatchResult.DUPLICATE, ReviewBatchResult.DUPLICATE,
+                        ReviewBatchResult.CREATED),
+                result.results().stream().map(ReviewBatchResult.Item::status).toList());
+        Assertions.assertEquals(100L, result.results().get(0).id());
+        Assertions.assertEquals(101L, result.results().get(5).id());
+        Assertions.assertEquals("Rating must be between 1 and 5", result.results().get(1).message());
+        Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5),
+                result.results().stream().map(ReviewBatchResult.Item::index).toList());
+    }
+
+    @Test
+    void createBatch_ShouldRejectBatch_WhenLargerThanMaxBatchSize() {
+        List<ReviewService.NewReview> reviews = Collections.nCopies(ReviewService.MAX_BATCH_SIZE + 1,
+                new ReviewService.NewReview(2L, "eve", 5, "great"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> reviewService.createBatch(reviews));
+        Mockito.verifyNoInteractions(gameRepository, reviewRepository);
+    }
+
+    @Test
+    void createBatch_ShouldThrowDuplicate_WhenConcurrentPostTakesThePair() {
+        Mockito.when(reviewRepository.saveAll(ArgumentMatchers.anyList())).thenThrow(
+                new DataIntegrityViolationException("could not execute batch",
+                        new SQLException("Duplicate entry '2-eve'", "23000", 1062)));
+
+        Assertions.assertThrows(DuplicateReviewException.class, () -> reviewService.createBatch(List.of(
+                new ReviewService.NewReview(2L, "eve", 5, "great"))));
+        Mockito.verifyNoInteractions(ratingAggregateService);
+    }
+
+    @Test
+    void createLogged_ShouldDropStoredAndRepeatedPairs() {
+        int stored = reviewService.createLogged(List.of(
+                new ReviewService.NewReview(1L, "ann", 5, "stored already"),
+                new ReviewService.NewReview(2L, "bob", 4, "first"),
+                new ReviewService.NewReview(2L, "BOB", 3, "repeat, other case"),
+                new ReviewService.NewReview(3L, "cat", 4, "game gone"),
+                new ReviewService.NewReview(1L, "dan", 9, "invalid"),
+                new ReviewService.NewReview(1L, "dan", 2, "valid")));
+
+        Assertions.assertEquals(2, stored);
+        Assertions.assertEquals(List.of("2:bob:first", "1:dan:valid"), saved.stream()
+                .map(r -> r.getGame().getId() + ":" + r.getUsername() + ":" + r.getComment())
+                .toList());
+        Mockito.verify(ratingAggregateService).record(ArgumentMatchers.eq(2L),
+                AdditionalMatchers.aryEq(new int[]{0, 0, 0, 1, 0}));
+        Mockito.verify(ratingAggregateService).record(ArgumentMatchers.eq(1L),
+                AdditionalMatchers.aryEq(new int[]{0, 1, 0, 0, 0}));
+    }
+
+    private static ReviewRepository.ReviewKey key(Long gameId, String username) {
+        return new ReviewRepository.ReviewKey() {
+            @Override
+            public Long getGameId() {
+                return gameId;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package com.gameflix.gameflix.service;
+
+import com.gameflix.gameflix.repository.ReviewLogCheckpointRepository;
+import com.gameflix.gameflix.reviewlog.ReviewLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+/**
+ * Drains a pre-written review log through mocked repositories. The
+ * transaction manager applies a transaction's writes only when it commits,
+ * so the assertions see what a database would have kept.
+ */
+class WriteBehindReviewIntakeTest {
+
+    private static final int LOGGED = 40;
+    private static final int CAPACITY = 16;
+    private static final String POISON = "poison";
+
+    @TempDir
+    Path dir;
+
+    private final ReviewService reviewService = Mockito.mock(ReviewService.class);
+    private final ReviewLogCheckpointRepository checkpoints = Mockito.mock(ReviewLogCheckpointRepository.class);
+    private final Transactions transactions = new Transactions();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Long> storedGameIds = new CopyOnWriteArrayList<>();
+    private final List<Long> committedCheckpoints = new CopyOnWriteArrayList<>();
+    private final List<Long> quarantinedSeqs = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean databaseDown = new AtomicBoolean();
+    private WriteBehindReviewIntake intake;
+
+    @BeforeEach
+    void mockRepositories() {
+        Mockito.when(checkpoints.findById(ArgumentMatchers.anyString())).thenReturn(Optional.empty());
+        Mockito.when(checkpoints.advance(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong())).thenAnswer(inv -> {
+            long seq = inv.getArgument(1);
+            transactions.onCommit(() -> committedCheckpoints.add(seq));
+            return 1;
+        });
+        Mockito.when(checkpoints.quarantine(ArgumentMatchers.anyString(), ArgumentMatchers.anyLong(),
+                ArgumentMatchers.anyLong(), ArgumentMatchers.anyString(), ArgumentMatchers.anyInt(),
+                ArgumentMatchers.anyString(), ArgumentMatchers.any(), ArgumentMatchers.anyString(),
+                ArgumentMatchers.any())).thenAnswer(inv -> {
+            long seq = inv.getArgument(1);
+            transactions.onCommit(() -> quarantinedSeqs.add(seq));
+            return 1;
+        });
+        Mockito.when(reviewService.createLogged(ArgumentMatchers.anyList())).thenAnswer(inv -> {
+            failIfDown();
+            List<ReviewService.NewReview> reviews = inv.getArgument(0);
+            if (reviews.stream().anyMatch(r -> r.comment().equals(POISON))) {
+                throw new DataIntegrityViolationException("Data truncation: Incorrect string value");
+            }
+            transactions.onCommit(() -> reviews.forEach(r -> storedGameIds.add(r.gameId())));
+            return reviews.size();
+        });
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        if (intake != null) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void drain_ShouldStoreOtherRowsInLogOrderAndQuarantineOne_WhenOneRowAlwaysFails() throws IOException {
+        writeLog(23);
+
+        start();
+        // Replayed reviews overdrew the capacity; every permit comes back, including the quarantined one's.
+        await(() -> freeCapacity() == CAPACITY);
+
+        Assertions.assertEquals(LongStream.rangeClosed(1, LOGGED).filter(id -> id != 23).boxed().toList(),
+                storedGameIds);
+        Assertions.assertEquals(List.of(23L), quarantinedSeqs);
+        assertNeverBackwards();
+        Assertions.assertEquals(LOGGED, last(committedCheckpoints));
+        Assertions.assertEquals(1.0, meterRegistry.get("gameflix.reviews.write-behind.quarantined").counter().count());
+        Assertions.assertFalse(intake.hasReviewed(23L, "user23"));
+        Assertions.assertFalse(intake.hasReviewed(24L, "user24"));
+    }
+
+    @Test
+    void drain_ShouldRetryWithoutQuarantine_WhenDatabaseIsDown() throws IOException {
+        writeLog(-1);
+        // Down after the checkpoint read at startup, so the drainer's probe fails as well.
+        Mockito.when(checkpoints.findById(ArgumentMatchers.anyString())).thenReturn(Optional.empty()).thenAnswer(inv -> {
+            failIfDown();
+            return Optional.empty();
+        });
+        databaseDown.set(true);
+
+        start();
+        await(() -> Mockito.mockingDetails(reviewService).getInvocations().size()
+                > 2 * WriteBehindReviewIntake.MAX_ATTEMPTS);
+        databaseDown.set(false);
+        await(() -> freeCapacity() == CAPACITY);
+
+        Assertions.assertEquals(LongStream.rangeClosed(1, LOGGED).boxed().toList(), storedGameIds);
+        // A batch failing just before the database comes back may still be split, never quarantined.
+        Assertions.assertTrue(quarantinedSeqs.isEmpty());
+        assertNeverBackwards();
+        Assertions.assertEquals(LOGGED, last(committedCheckpoints));
+    }
+
+    // Game ids follow sequence numbers, so stored ids show the order rows reached the table.
+    private void writeLog(long poisonSeq) throws IOException {
+        ReviewLog reviewLog = ReviewLog.open(dir, DataSize.ofMegabytes(1).toBytes());
+        reviewLog.start(batch -> { });
+        for (int i = 1; i <= LOGGED; i++) {
+            reviewLog.append(i, "user" + i, 1 + i % 5, i == poisonSeq ? POISON : "ok", LocalDateTime.now()).join();
+        }
+        reviewLog.close();
+    }
+
+    private void start() throws IOException {
+        intake = new WriteBehindReviewIntake(reviewService, checkpoints, transactions, meterRegistry, dir,
+                DataSize.ofMegabytes(1), CAPACITY, 500, Duration.ofMillis(10), Duration.ofMillis(1));
+        intake.start();
+        Assertions.assertEquals(CAPACITY - LOGGED, freeCapacity());
+    }
+
+    private void assertNeverBackwards() {
+        for (int i = 1; i < committedCheckpoints.size(); i++) {
+            Assertions.assertTrue(committedCheckpoints.get(i) > committedCheckpoints.get(i - 1),
+                    () -> "checkpoint moved backwards: " + committedCheckpoints);
+        }
+    }
+
+    private int freeCapacity() {
+        return (int) meterRegistry.get("gameflix.reviews.write-behind.free-capacity").gauge().value();
+    }
+
+    private void failIfDown() {
+        if (databaseDown.get()) {
+            throw new DataAccessResourceFailureException("Communications link failure");
+        }
+    }
+
+    private static long last(List<Long> values) {
+        return values.isEmpty() ? 0 : values.get(values.size() - 1);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            Assertions.assertTrue(System.nanoTime() < deadline, "timed out waiting for the drainer");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /** Runs a transaction's recorded writes on commit and drops them on rollback. */
+    private static final class Transactions implements PlatformTransactionManager {
+
+        private final List<Runnable> pending = new ArrayList<>();
+
+        void onCommit(Runnable write) {
+            pending.add(write);
+        }
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            pending.clear();
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            pending.forEach(Runnable::run);
+            pending.clear();
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            pending.clear();
+        }
+    }
+}
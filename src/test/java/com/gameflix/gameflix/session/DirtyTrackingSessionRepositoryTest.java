@@ -0,0 +1,89 @@
+package com.gameflix.gameflix.session;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.session.MapSession;
+import org.springframework.session.MapSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+class DirtyTrackingSessionRepositoryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SessionWriteMetrics metrics = new SessionWriteMetrics(registry, "memory");
+    private final CountingStore store = new CountingStore();
+    private final DirtyTrackingSessionRepository<MapSession> repository =
+            new DirtyTrackingSessionRepository<>(store, Duration.ofMinutes(1), metrics);
+
+    @Test
+    void save_ShouldSkipStore_WhenOnlyUnchangedValuesWereSet() {
+        TrackedSession<MapSession> created = repository.createSession();
+        created.setAttribute("planTier", "FREE");
+        repository.save(created);
+
+        TrackedSession<MapSession> read = repository.findById(created.getId());
+        read.setLastAccessedTime(read.getLastAccessedTime().plusSeconds(5));
+        read.setAttribute("planTier", "FREE");
+        repository.save(read);
+
+        Assertions.assertEquals(1, store.saves);
+        Assertions.assertEquals(1.0, registry.get("gameflix.session.attribute.skipped").counter().count());
+
+        read.setAttribute("planTier", "PREMIUM");
+        repository.save(read);
+        Assertions.assertEquals(2, store.saves);
+        Assertions.assertEquals("PREMIUM", repository.findById(created.getId()).getAttribute("planTier"));
+    }
+
+    @Test
+    void save_ShouldWriteMutableValuesAndStaleAccessTimes() {
+        TrackedSession<MapSession> session = repository.createSession();
+        List<String> flashes = new ArrayList<>();
+        session.setAttribute("flash", flashes);
+        repository.save(session);
+
+        TrackedSession<MapSession> read = repository.findById(session.getId());
+        read.setAttribute("flash", read.getAttribute("flash"));
+        repository.save(read);
+
+        TrackedSession<MapSession> later = repository.findById(session.getId());
+        Instant touched = later.getLastAccessedTime().plus(Duration.ofMinutes(2));
+        later.setLastAccessedTime(touched);
+        repository.save(later);
+
+        Assertions.assertEquals(3, store.saves);
+        Assertions.assertEquals(touched, repository.findById(session.getId()).getLastAccessedTime());
+    }
+
+    @Test
+    void serializer_ShouldWriteStringsCompactlyAndReadJavaSerializedValues() {
+        CompactSessionSerializer serializer = new CompactSessionSerializer(getClass().getClassLoader(), metrics);
+
+        byte[] tier = serializer.serialize("PREMIUM");
+        Assertions.assertEquals("PREMIUM".length() + 1, tier.length);
+        Assertions.assertEquals("PREMIUM", serializer.deserialize(tier));
+
+        ArrayList<String> list = new ArrayList<>(List.of("a", "b"));
+        Assertions.assertEquals(list, serializer.deserialize(serializer.serialize(list)));
+    }
+
+    private static final class CountingStore extends MapSessionRepository {
+
+        int saves;
+
+        CountingStore() {
+            super(new ConcurrentHashMap<>());
+        }
+
+        @Override
+        public void save(MapSession session) {
+            saves++;
+            super.save(session);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.gameflix.gameflix.trending;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+class SlidingWindowCounterTest {
+
+    private static final long BUCKET = 1_000;
+
+    @Test
+    void forEach_ShouldBucketByAge_AndForgetGamesOutsideTheWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET);
+        counter.record(1, 2, 0);
+        counter.record(1, 1, 1_500);
+        counter.record(2, 5, 2_100);
+
+        Map<Long, long[]> seen = snapshot(counter, 2_500);
+        Assertions.assertArrayEquals(new long[]{0, 1, 2}, seen.get(1L));
+        Assertions.assertArrayEquals(new long[]{5, 0, 0}, seen.get(2L));
+
+        // Bucket 3 reuses game 1's slot from bucket 0 and must not add to the old count.
+        counter.record(1, 4, 3_000);
+        Assertions.assertArrayEquals(new long[]{4, 0, 1}, snapshot(counter, 3_000).get(1L));
+
+        Assertions.assertFalse(snapshot(counter, 10_000).containsKey(1L));
+        Assertions.assertEquals(0, counter.size());
+    }
+
+    @Test
+    void record_ShouldNotLoseCounts_WhenThreadsHitTheSameGame() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(4, BUCKET);
+        int threads = 8;
+        int perThread = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    counter.record(7, 1, 500);
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread w : workers) {
+            w.join();
+        }
+
+        Assertions.assertEquals((long) threads * perThread, snapshot(counter, 500).get(7L)[0]);
+    }
+
+    private static Map<Long, long[]> snapshot(SlidingWindowCounter counter, long now) {
+        Map<Long, long[]> seen = new HashMap<>();
+        counter.forEach(now, (id, counts) -> seen.put(id, counts.clone()));
+        return seen;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gameflix.gameflix.trending;
+
+import com.gameflix.gameflix.model.GameSummary;
+import com.gameflix.gameflix.model.PlanTier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TrendingBoardTest {
+
+    @Test
+    void top_ShouldKeepRankWithinEachGenreAndTier() {
+        TrendingBoard board = TrendingBoard.of(List.of(
+                game(1, "Action", PlanTier.AAA, 9),
+                game(2, "Puzzle", "free", 7),
+                game(3, " action ", PlanTier.FREE, 5),
+                game(4, null, null, 3)), 2);
+
+        Assertions.assertEquals(List.of(1L, 2L), ids(board.top(null, null, 10)));
+        Assertions.assertEquals(List.of(1L, 3L), ids(board.top("ACTION", null, 10)));
+        Assertions.assertEquals(List.of(2L, 3L), ids(board.top(null, PlanTier.FREE, 10)));
+        Assertions.assertEquals(List.of(3L), ids(board.top("action", PlanTier.FREE, 10)));
+        Assertions.assertEquals(List.of(1L), ids(board.top("action", null, 1)));
+        Assertions.assertEquals(List.of(), board.top("racing", null, 10));
+        Assertions.assertEquals(List.of("Action", "Puzzle"), board.genres());
+    }
+
+    private static TrendingGame game(long id, String genre, String tier, double score) {
+        return new TrendingGame(new GameSummary(id, "Game " + id, genre, "", null, null, tier), score);
+    }
+
+    private static List<Long> ids(List<TrendingGame> games) {
+        return games.stream().map(t -> t.game().id()).toList();
+    }
+}